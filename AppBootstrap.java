@@ -0,0 +1,81 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Loads settings, inventory, recipes and transactions in parallel on a
+ * small pool and publishes a single AppContext. Every window asks for the
+ * same context instead of constructing its own managers.
+ */
+public final class AppBootstrap {
+    private static CompletableFuture<AppContext> context;
+
+    private AppBootstrap() {
+    }
+
+    // Starts loading on first call; later calls return the same future
+    public static synchronized CompletableFuture<AppContext> start() {
+        if (context == null) {
+            context = CompletableFuture.supplyAsync(AppBootstrap::load);
+        }
+        return context;
+    }
+
+    // Blocks until the context is ready; call off the event thread where possible
+    public static AppContext get() {
+        return start().join();
+    }
+
+    private static AppContext load() {
+        long start = System.nanoTime();
+        Map<String, Long> timings = new LinkedHashMap<>();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(4, r -> {
+            Thread thread = new Thread(r, "bootstrap-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletableFuture<AppSettings> settings =
+                phase("settings", () -> new DataPersistence().loadSettings(), timings, pool);
+            CompletableFuture<InventoryManager> inventory = phase("inventory", InventoryManager::new, timings, pool);
+            CompletableFuture<EnhancedRecipeManager> recipes = phase("recipes", EnhancedRecipeManager::new, timings, pool);
+            CompletableFuture<TransactionManager> transactions = phase("transactions", TransactionManager::new, timings, pool);
+            CompletableFuture.allOf(settings, inventory, recipes, transactions).join();
+
+            synchronized (timings) {
+                timings.put("total", (System.nanoTime() - start) / 1_000_000);
+                System.out.println("Startup timings (ms): " + timings);
+            }
+            AppContext ready = new AppContext(settings.join(), inventory.join(), recipes.join(), transactions.join(),
+                    new LinkedHashMap<>(timings));
+
+            if (ready.getSettings().getGroupCommitMillis() > 0) {
+                ready.getTransactionManager().enableGroupCommit(ready.getSettings().getGroupCommitMillis());
+            }
+            // Periodic zip backups while the application is open
+            new BackupScheduler(ready.getSettings(), ready.getTransactionManager()).start();
+            return ready;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static <T> CompletableFuture<T> phase(String name, Supplier<T> loader, Map<String, Long> timings,
+                                                  ExecutorService pool) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            T result = loader.get();
+            synchronized (timings) {
+                timings.put(name, (System.nanoTime() - start) / 1_000_000);
+            }
+            return result;
+        }, pool);
+    }
+}
@@ -0,0 +1,33 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The loaded application state shared by every window. Built once by
+ * AppBootstrap.
+ */
+public final class AppContext {
+    private final AppSettings settings;
+    private final InventoryManager inventoryManager;
+    private final EnhancedRecipeManager recipeManager;
+    private final TransactionManager transactionManager;
+    private final Map<String, Long> phaseTimings;
+
+    AppContext(AppSettings settings, InventoryManager inventoryManager, EnhancedRecipeManager recipeManager,
+               TransactionManager transactionManager, Map<String, Long> phaseTimings) {
+        this.settings = settings;
+        this.inventoryManager = inventoryManager;
+        this.recipeManager = recipeManager;
+        this.transactionManager = transactionManager;
+        this.phaseTimings = Collections.unmodifiableMap(phaseTimings);
+    }
+
+    public AppSettings getSettings() { return settings; }
+    public InventoryManager getInventoryManager() { return inventoryManager; }
+    public EnhancedRecipeManager getRecipeManager() { return recipeManager; }
+    public TransactionManager getTransactionManager() { return transactionManager; }
+
+    // Load time in milliseconds per phase, in the order the phases finished
+    public Map<String, Long> getPhaseTimings() { return phaseTimings; }
+}
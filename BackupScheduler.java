@@ -0,0 +1,159 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Takes an incremental backup through BackupManager in the background every
+ * backupIntervalMinutes while autoSave is on, and writes a zip archive of
+ * each new backup from the object store. Everything runs on the scheduler
+ * thread; the persistence writer is only held while the files are linked.
+ * A run is put off for a few minutes while the till is busy. Old backups
+ * and archives are thinned out to one per hour for a day, one per day for a
+ * week and one per week for a month.
+ */
+public class BackupScheduler {
+    private static final String PREFIX = "backup_";
+    private static final String SUFFIX = ".zip";
+
+    // More checkouts than this in the busy window postpones the backup
+    private static final int BUSY_CHECKOUTS = 10;
+    private static final long BUSY_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final long RETRY_MINUTES = 5;
+
+    private static final int KEEP_HOURS = 24;
+    private static final int KEEP_DAYS = 7;
+    private static final int KEEP_WEEKS = 4;
+
+    private final BackupManager backupManager;
+    private final TransactionManager txManager;
+    private final File archiveDirectory;
+    private final AppSettings settings;
+    private final Object backupLock = new Object();
+    private ScheduledExecutorService scheduler;
+
+    // txManager may be null when no till is running
+    public BackupScheduler(AppSettings settings, TransactionManager txManager) {
+        this.settings = settings;
+        this.txManager = txManager;
+        this.backupManager = new BackupManager(settings.getBackupDirectory());
+        this.archiveDirectory = new File(settings.getBackupDirectory(), "archives");
+        this.archiveDirectory.mkdirs();
+    }
+
+    public synchronized void start() {
+        if (scheduler != null || !settings.isAutoSave()) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "backup-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        schedule(Math.max(1, settings.getBackupIntervalMinutes()));
+    }
+
+    public synchronized void stop() {
+        if (scheduler == null) return;
+        scheduler.shutdownNow();
+        scheduler = null;
+    }
+
+    // Runs a backup on the scheduler thread, or on a thread of its own when not started
+    public synchronized void backupNow() {
+        if (scheduler != null) {
+            scheduler.execute(this::writeBackup);
+        } else {
+            Thread thread = new Thread(this::writeBackup, "backup-now");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private synchronized void schedule(long delayMinutes) {
+        if (scheduler != null) {
+            scheduler.schedule(this::runScheduled, delayMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    private void runScheduled() {
+        if (txManager != null && txManager.getRecentCheckoutCount(BUSY_WINDOW_MILLIS) > BUSY_CHECKOUTS) {
+            schedule(RETRY_MINUTES);
+            return;
+        }
+        writeBackup();
+        schedule(Math.max(1, settings.getBackupIntervalMinutes()));
+    }
+
+    // An archive is only written for a backup that has none yet, i.e. when something changed
+    private void writeBackup() {
+        synchronized (backupLock) {
+            String backup = backupManager.createBackup();
+            if (backup == null) return;
+            File archive = new File(archiveDirectory, backup + SUFFIX);
+            try {
+                if (!archive.exists()) {
+                    backupManager.createArchive(backup, archive);
+                }
+                applyRetention(LocalDateTime.now());
+            } catch (IOException e) {
+                System.err.println("Error writing backup archive: " + e.getMessage());
+            }
+        }
+    }
+
+    // Keeps the newest backup of each recent hour, day and week, with its archive
+    void applyRetention(LocalDateTime now) throws IOException {
+        TreeMap<LocalDateTime, String> backups = new TreeMap<>(Comparator.reverseOrder());
+        File[] files = archiveDirectory.listFiles((dir, name) -> name.startsWith(PREFIX) && name.endsWith(SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                addBackup(backups, file.getName().substring(0, file.getName().length() - SUFFIX.length()));
+            }
+        }
+        for (String name : backupManager.getAvailableBackups()) {
+            addBackup(backups, name);
+        }
+
+        Set<LocalDateTime> hours = new HashSet<>();
+        Set<LocalDateTime> days = new HashSet<>();
+        Set<LocalDateTime> weeks = new HashSet<>();
+        boolean newest = true;
+        for (Map.Entry<LocalDateTime, String> entry : backups.entrySet()) {
+            LocalDateTime time = entry.getKey();
+            LocalDateTime hour = time.truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime day = time.truncatedTo(ChronoUnit.DAYS);
+            LocalDateTime week = day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+            boolean keep = newest;
+            if (time.isAfter(now.minusHours(KEEP_HOURS)) && hours.add(hour)) keep = true;
+            if (time.isAfter(now.minusDays(KEEP_DAYS)) && days.add(day)) keep = true;
+            if (time.isAfter(now.minusWeeks(KEEP_WEEKS)) && weeks.add(week)) keep = true;
+            newest = false;
+
+            if (!keep) {
+                File archive = new File(archiveDirectory, entry.getValue() + SUFFIX);
+                if (archive.exists() && !archive.delete()) {
+                    System.err.println("Could not prune backup " + archive.getName());
+                }
+                backupManager.deleteBackup(entry.getValue());
+            }
+        }
+        backupManager.pruneObjects();
+    }
+
+    private static void addBackup(TreeMap<LocalDateTime, String> backups, String name) {
+        try {
+            backups.put(BackupManager.backupTime(name), name);
+        } catch (DateTimeParseException | StringIndexOutOfBoundsException e) {
+            // Not one of ours
+        }
+    }
+}
@@ -1,124 +1,348 @@
-package Micow.ProjectC.Micow_Cashier;
-
-import java.io.Serializable;
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
-
-public class CoffeeProduct implements Serializable {
-    private static final long serialVersionUID = 1L;
-
-    private String name;
-    private String category;
-    private double totalCost;   // total value of current stock
-    private double unitSize;    // size of one unit (g, ml, etc.)
-    private String unit;
-    private double stock;       // number of units in stock (can be fractional)
-    private double minStock;    // threshold for low stock
-    private String imagePath;
-    private LocalDateTime lastUpdated;
-    private Map<String, Double> ingredients;
-
-    public CoffeeProduct(String name, String category, double totalCost, double unitSize,
-                         String unit, double stock, double minStock, String imagePath) {
-        this.name = name;
-        this.category = category;
-        this.totalCost = totalCost;
-        this.unitSize = unitSize;
-        this.unit = unit;
-        this.stock = stock;
-        this.minStock = minStock;
-        this.imagePath = imagePath;
-        this.lastUpdated = LocalDateTime.now();
-        this.ingredients = new HashMap<>();
-    }
-
-    // Default constructor for serialization
-    public CoffeeProduct() {
-        this.ingredients = new HashMap<>();
-        this.lastUpdated = LocalDateTime.now();
-    }
-
-    // Getters
-    public String getName() { return name; }
-    public String getCategory() { return category; }
-    public double getTotalCost() { return totalCost; }
-    public double getUnitSize() { return unitSize; }
-    public String getUnit() { return unit; }
-    public double getStock() { return stock; }
-    public double getMinStock() { return minStock; }
-    public String getImagePath() { return imagePath; }
-    public LocalDateTime getLastUpdated() { return lastUpdated; }
-    public Map<String, Double> getIngredients() { return new HashMap<>(ingredients); }
-
-    // Setters
-    public void setName(String name) { this.name = name; touch(); }
-    public void setCategory(String category) { this.category = category; touch(); }
-    public void setTotalCost(double totalCost) { this.totalCost = totalCost; touch(); }
-    public void setUnitSize(double unitSize) { this.unitSize = unitSize; touch(); }
-    public void setUnit(String unit) { this.unit = unit; touch(); }
-    public void setStock(double stock) { this.stock = stock; touch(); }
-    public void setMinStock(double minStock) { this.minStock = minStock; touch(); }
-    public void setImagePath(String imagePath) { this.imagePath = imagePath; touch(); }
-
-    private void touch() { this.lastUpdated = LocalDateTime.now(); }
-
-    // Business methods
-    public double getPhysicalStock() { return stock * unitSize; }
-    public double getCostPerUnit() { return stock == 0 ? 0 : totalCost / stock; }
-
-    public void reduceStock(double physicalAmount) {
-        if (physicalAmount <= 0) return;
-
-        double currentPhysical = getPhysicalStock();
-        if (physicalAmount > currentPhysical) {
-            stock = 0;
-            totalCost = 0;
-        } else {
-            double costPerPhysical = (currentPhysical == 0) ? 0 : totalCost / currentPhysical;
-            double costDeduct = physicalAmount * costPerPhysical;
-            double fraction = physicalAmount / unitSize;
-            stock -= fraction;
-            totalCost -= costDeduct;
-
-            if (stock < 0) stock = 0;
-            if (totalCost < 0) totalCost = 0;
-        }
-        touch();
-    }
-
-    public void addStock(double physicalAmount, double addedCost) {
-        if (physicalAmount <= 0) return;
-        double fraction = physicalAmount / unitSize;
-        stock += fraction;
-        totalCost += addedCost;
-        touch();
-    }
-
-    public String getStockStatus() {
-        if (stock == 0) return "Out of Stock";
-        if (stock <= minStock) return "Low Stock";
-        return "In Stock";
-    }
-
-    // Helpers
-    public boolean isLowStock() { return stock <= minStock && stock > 0; }
-    public boolean isOutOfStock() { return stock == 0; }
-
-    @Override
-    public String toString() {
-        return String.format("%s (%s) - Stock: %.2f, Cost/Unit: ₱%.2f",
-                name, category, stock, getCostPerUnit());
-    }
-
-    @Override
-    public boolean equals(Object obj) {
-        if (this == obj) return true;
-        if (!(obj instanceof CoffeeProduct)) return false;
-        CoffeeProduct other = (CoffeeProduct) obj;
-        return name != null && name.equals(other.name);
-    }
-
-    @Override
-    public int hashCode() { return name != null ? name.hashCode() : 0; }
-}
+package Micow.ProjectC.Micow_Cashier;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A stock item. Every read and write of its state holds the product's own
+ * monitor, so checkouts, restocks and recipe processing can change
+ * different products at the same time without contending, and never lose
+ * an update to the same one.
+ *
+ * Stock, cost, unit size, minimum stock and the last update are not kept
+ * on the object but in a row of ProductColumns: the catalog's shared
+ * columns while the product is in an InventoryManager, or a single row of
+ * its own otherwise.
+ */
+public class CoffeeProduct implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long id;
+    private String name;
+    private String category;
+    private String unit;
+    private String imagePath;
+    // Row holding total cost, unit size, stock (units, can be fractional), min stock and last update
+    private transient ProductColumns.Page page;
+    private transient int row;
+    private Map<String, Double> ingredients;  // null until the product has some
+    private transient boolean dirty;  // modified since the last save
+    private transient long changedAt;  // epoch millis of the last change, stamped on change-log records
+    private transient double reserved; // units held by open StockReservations
+    private transient long version;    // bumped on every change, for compare-and-set edits
+    private transient StockListener listener;
+    private transient StockState published; // last state passed to the listener
+
+    /**
+     * The fields inventory totals depend on, captured under the product's
+     * lock so the values belong together.
+     */
+    static final class StockState {
+        final String category;
+        final double stock;
+        final double minStock;
+        final double totalCost;
+
+        StockState(String category, double stock, double minStock, double totalCost) {
+            this.category = category;
+            this.stock = stock;
+            this.minStock = minStock;
+            this.totalCost = totalCost;
+        }
+
+        boolean isLowStock() { return stock <= minStock; }
+
+        boolean sameAs(StockState other) {
+            return other != null && stock == other.stock && minStock == other.minStock
+                    && totalCost == other.totalCost && Objects.equals(category, other.category);
+        }
+    }
+
+    // Told about every change to a product's StockState, while the product is locked
+    interface StockListener {
+        void stockChanged(CoffeeProduct product, StockState before, StockState after);
+    }
+
+    public CoffeeProduct(String name, String category, double totalCost, double unitSize,
+                         String unit, double stock, double minStock, String imagePath) {
+        this.page = ProductColumns.Page.detached();
+        this.name = name;
+        this.category = category;
+        this.unit = unit;
+        this.imagePath = imagePath;
+        page.totalCost[0] = totalCost;
+        page.unitSize[0] = unitSize;
+        page.stock[0] = stock;
+        page.minStock[0] = minStock;
+        page.lastUpdated[0] = encode(LocalDateTime.now());
+    }
+
+    // Default constructor for serialization
+    public CoffeeProduct() {
+        this.page = ProductColumns.Page.detached();
+        page.lastUpdated[0] = encode(LocalDateTime.now());
+    }
+
+    // Column accessors; callers hold the product's lock
+    private double stock() { return page.stock[row]; }
+    private double totalCost() { return page.totalCost[row]; }
+    private double unitSize() { return page.unitSize[row]; }
+    private double minStock() { return page.minStock[row]; }
+    private void stock(double value) { page.stock[row] = value; }
+    private void totalCost(double value) { page.totalCost[row] = value; }
+
+    // LocalDateTime packed into a long: nanoseconds since 1970-01-01T00:00 on the wall clock
+    private static long encode(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+
+    private static LocalDateTime decode(long time) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(time, 1_000_000_000L),
+                (int) Math.floorMod(time, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    // Called by ProductColumns, which holds its own lock, to move the values to another row
+    synchronized void moveTo(ProductColumns.Page target, int targetRow) {
+        target.stock[targetRow] = stock();
+        target.totalCost[targetRow] = totalCost();
+        target.unitSize[targetRow] = unitSize();
+        target.minStock[targetRow] = minStock();
+        target.lastUpdated[targetRow] = page.lastUpdated[row];
+        page = target;
+        row = targetRow;
+    }
+
+    // The catalog columns holding this product, or null
+    synchronized ProductColumns columns() { return page.columns; }
+
+    synchronized int slot() { return page.base + row; }
+
+    // Getters
+    public synchronized long getId() { return id; }
+    public synchronized String getName() { return name; }
+    public synchronized String getCategory() { return category; }
+    public synchronized double getTotalCost() { return totalCost(); }
+    public synchronized double getUnitSize() { return unitSize(); }
+    public synchronized String getUnit() { return unit; }
+    public synchronized double getStock() { return stock(); }
+    public synchronized double getMinStock() { return minStock(); }
+    public synchronized String getImagePath() { return imagePath; }
+    public synchronized LocalDateTime getLastUpdated() { return decode(page.lastUpdated[row]); }
+    public synchronized Map<String, Double> getIngredients() {
+        return ingredients != null ? new HashMap<>(ingredients) : new HashMap<>();
+    }
+
+    // Setters
+    // Assigned once by InventoryManager; not a user edit, so lastUpdated is kept
+    synchronized void setId(long id) { this.id = id; markDirty(); }
+    public synchronized void setName(String name) { this.name = name; touch(); }
+    public synchronized void setCategory(String category) { this.category = category; touch(); }
+    public synchronized void setTotalCost(double totalCost) { totalCost(totalCost); touch(); }
+    public synchronized void setUnitSize(double unitSize) { page.unitSize[row] = unitSize; touch(); }
+    public synchronized void setUnit(String unit) { this.unit = unit; touch(); }
+    public synchronized void setStock(double stock) { stock(stock); touch(); }
+    public synchronized void setMinStock(double minStock) { page.minStock[row] = minStock; touch(); }
+    public synchronized void setImagePath(String imagePath) { this.imagePath = imagePath; touch(); }
+
+    private void touch() {
+        page.lastUpdated[row] = encode(LocalDateTime.now());
+        markDirty();
+        this.version++;
+        if (listener != null) {
+            StockState after = state();
+            if (!after.sameAs(published)) {
+                StockState before = published;
+                published = after;
+                listener.stockChanged(this, before, after);
+            }
+        }
+    }
+
+    // Starts reporting changes and returns the state they start from
+    synchronized StockState attach(StockListener listener) {
+        this.listener = listener;
+        published = state();
+        return published;
+    }
+
+    private StockState state() {
+        return new StockState(category, stock(), minStock(), totalCost());
+    }
+
+    // Stops reporting changes and returns the last state reported
+    synchronized StockState detach() {
+        StockState last = published;
+        listener = null;
+        published = null;
+        return last;
+    }
+
+    public synchronized long getVersion() { return version; }
+
+    /**
+     * Takes over the editable fields of the given values if no change was
+     * made since expectedVersion. Id, ingredients and reservations stay.
+     */
+    synchronized boolean compareAndSet(long expectedVersion, CoffeeProduct values) {
+        if (version != expectedVersion) return false;
+        // values is a detached copy no other thread can lock
+        name = values.name;
+        category = values.category;
+        totalCost(values.totalCost());
+        page.unitSize[row] = values.unitSize();
+        unit = values.unit;
+        stock(values.stock());
+        page.minStock[row] = values.minStock();
+        imagePath = values.imagePath;
+        touch();
+        return true;
+    }
+
+    // Dirty tracking for InventoryManager's delta saves
+    synchronized boolean isDirty() { return dirty; }
+    synchronized void markDirty() { dirty = true; changedAt = System.currentTimeMillis(); }
+    synchronized long getChangedAt() { return changedAt; }
+    synchronized void clearDirty() { dirty = false; }
+
+    // Copies and clears the dirty flag in one step, so a concurrent edit is never lost; null if clean
+    synchronized CoffeeProduct takeDirtyCopy() {
+        if (!dirty) return null;
+        dirty = false;
+        return copy();
+    }
+
+    // Detached copy for background writers and edit dialogs; carries the version it was taken at
+    synchronized CoffeeProduct copy() {
+        CoffeeProduct copy = new CoffeeProduct(name, category, totalCost(), unitSize(), unit, stock(), minStock(), imagePath);
+        copy.id = id;
+        copy.version = version;
+        copy.changedAt = changedAt;
+        copy.page.lastUpdated[0] = page.lastUpdated[row];
+        copy.ingredients = ingredients != null ? new HashMap<>(ingredients) : null;
+        return copy;
+    }
+
+    // The row is written as plain values, so the catalog's columns are not written with it
+    private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeDouble(totalCost());
+        out.writeDouble(unitSize());
+        out.writeDouble(stock());
+        out.writeDouble(minStock());
+        out.writeLong(page.lastUpdated[row]);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        page = ProductColumns.Page.detached();
+        page.totalCost[0] = in.readDouble();
+        page.unitSize[0] = in.readDouble();
+        page.stock[0] = in.readDouble();
+        page.minStock[0] = in.readDouble();
+        page.lastUpdated[0] = in.readLong();
+    }
+
+    // Used when loading from storage; does not count as a modification
+    synchronized void restoreState(LocalDateTime lastUpdated, Map<String, Double> ingredients) {
+        if (lastUpdated != null) page.lastUpdated[row] = encode(lastUpdated);
+        this.ingredients = ingredients != null && !ingredients.isEmpty() ? new HashMap<>(ingredients) : null;
+    }
+
+    // Business methods
+    public synchronized double getPhysicalStock() { return stock() * unitSize(); }
+    public synchronized double getCostPerUnit() { return stock() == 0 ? 0 : totalCost() / stock(); }
+
+    public synchronized void reduceStock(double physicalAmount) {
+        if (physicalAmount <= 0) return;
+
+        double currentPhysical = getPhysicalStock();
+        if (physicalAmount > currentPhysical) {
+            stock(0);
+            totalCost(0);
+        } else {
+            double costPerPhysical = (currentPhysical == 0) ? 0 : totalCost() / currentPhysical;
+            double costDeduct = physicalAmount * costPerPhysical;
+            double fraction = physicalAmount / unitSize();
+            stock(Math.max(0, stock() - fraction));
+            totalCost(Math.max(0, totalCost() - costDeduct));
+        }
+        touch();
+    }
+
+    // Stock not held by a reservation
+    public synchronized double getAvailableStock() { return Math.max(0, stock() - reserved); }
+
+    // Holds units for a StockReservation if enough are available
+    synchronized boolean tryReserve(double units) {
+        if (units <= 0) return true;
+        if (stock() - reserved < units) return false;
+        reserved += units;
+        return true;
+    }
+
+    synchronized void releaseReserved(double units) {
+        reserved = Math.max(0, reserved - units);
+    }
+
+    // Turns held units into a deduction
+    synchronized void commitReserved(double units) {
+        releaseReserved(units);
+        deductUnits(units);
+    }
+
+    // Takes stock units off the way a checkout does; cost goes down at the current cost per unit
+    synchronized void deductUnits(double units) {
+        if (units <= 0) return;
+        double stock = stock();
+        double taken = Math.min(units, stock);
+        totalCost(stock == 0 ? 0 : Math.max(0, totalCost() - totalCost() * (taken / stock)));
+        stock(Math.max(0, stock - taken));
+        touch();
+    }
+
+    public synchronized void addStock(double physicalAmount, double addedCost) {
+        if (physicalAmount <= 0) return;
+        double fraction = physicalAmount / unitSize();
+        stock(stock() + fraction);
+        totalCost(totalCost() + addedCost);
+        touch();
+    }
+
+    public synchronized String getStockStatus() {
+        if (stock() == 0) return "Out of Stock";
+        if (stock() <= minStock()) return "Low Stock";
+        return "In Stock";
+    }
+
+    // Helpers
+    public synchronized boolean isLowStock() { return stock() <= minStock() && stock() > 0; }
+    public synchronized boolean isOutOfStock() { return stock() == 0; }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s (%s) - Stock: %.2f, Cost/Unit: ₱%.2f",
+                name, category, stock(), getCostPerUnit());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof CoffeeProduct)) return false;
+        // One monitor at a time, so comparing two products cannot deadlock
+        String mine = getName();
+        return mine != null && mine.equals(((CoffeeProduct) obj).getName());
+    }
+
+    @Override
+    public int hashCode() {
+        String mine = getName();
+        return mine != null ? mine.hashCode() : 0;
+    }
+}
@@ -1,585 +1,1464 @@
-// DataPersistence.java - Missing implementation
-package Micow.ProjectC.Micow_Cashier;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.lang.reflect.Type;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
-import com.google.gson.reflect.TypeToken;
-
-/**
- * Handles data persistence for the coffee shop management system
- */
-public class DataPersistence {
-    private static final String INVENTORY_FILE = "coffee_inventory.json";
-    private static final String RECIPES_FILE = "coffee_recipes.json";
-    private static final String SETTINGS_FILE = "app_settings.json";
-    private final Gson gson;
-
-    public DataPersistence() {
-        this.gson = new GsonBuilder()
-                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
-                .setPrettyPrinting()
-                .create();
-    }
-
-    // Inventory persistence
-    public void saveInventory(List<CoffeeProduct> products) {
-        try (FileWriter writer = new FileWriter(INVENTORY_FILE)) {
-            gson.toJson(products, writer);
-        } catch (IOException e) {
-            System.err.println("Error saving inventory: " + e.getMessage());
-        }
-    }
-
-    public List<CoffeeProduct> loadInventory() {
-        try (FileReader reader = new FileReader(INVENTORY_FILE)) {
-            Type listType = new TypeToken<List<CoffeeProduct>>(){}.getType();
-            List<CoffeeProduct> products = gson.fromJson(reader, listType);
-            return products != null ? products : new ArrayList<>();
-        } catch (IOException e) {
-            System.out.println("No existing inventory file found. Starting fresh.");
-            return new ArrayList<>();
-        }
-    }
-
-    // Recipe persistence
-    public void saveRecipes(Map<String, Recipe> recipes) {
-        try (FileWriter writer = new FileWriter(RECIPES_FILE)) {
-            gson.toJson(recipes, writer);
-        } catch (IOException e) {
-            System.err.println("Error saving recipes: " + e.getMessage());
-        }
-    }
-
-    public Map<String, Recipe> loadRecipes() {
-        try (FileReader reader = new FileReader(RECIPES_FILE)) {
-            Type mapType = new TypeToken<Map<String, Recipe>>(){}.getType();
-            Map<String, Recipe> recipes = gson.fromJson(reader, mapType);
-            return recipes != null ? recipes : new HashMap<>();
-        } catch (IOException e) {
-            System.out.println("No existing recipes file found. Loading defaults.");
-            return new HashMap<>();
-        }
-    }
-
-    // Settings persistence
-    public void saveSettings(AppSettings settings) {
-        try (FileWriter writer = new FileWriter(SETTINGS_FILE)) {
-            gson.toJson(settings, writer);
-        } catch (IOException e) {
-            System.err.println("Error saving settings: " + e.getMessage());
-        }
-    }
-
-    public AppSettings loadSettings() {
-        try (FileReader reader = new FileReader(SETTINGS_FILE)) {
-            AppSettings settings = gson.fromJson(reader, AppSettings.class);
-            return settings != null ? settings : new AppSettings();
-        } catch (IOException e) {
-            return new AppSettings();
-        }
-    }
-
-    // Custom adapter for LocalDateTime
-    private static class LocalDateTimeAdapter implements JsonSerializer<LocalDateTime>, JsonDeserializer<LocalDateTime> {
-        @Override
-        public JsonElement serialize(LocalDateTime src, Type typeOfSrc, JsonSerializationContext context) {
-            return new JsonPrimitive(src.toString());
-        }
-
-        @Override
-        public LocalDateTime deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) {
-            return LocalDateTime.parse(json.getAsString());
-        }
-    }
-}
-
-// AppSettings.java - Configuration management
-class AppSettings {
-    private double defaultProfitMargin = 0.30;
-    private String defaultCurrency = "₱";
-    private boolean darkMode = false;
-    private boolean autoSave = true;
-    private int lowStockThreshold = 10;
-    private String backupDirectory = "./backups/";
-
-    // Getters and setters
-    public double getDefaultProfitMargin() { return defaultProfitMargin; }
-    public void setDefaultProfitMargin(double defaultProfitMargin) { this.defaultProfitMargin = defaultProfitMargin; }
-    
-    public String getDefaultCurrency() { return defaultCurrency; }
-    public void setDefaultCurrency(String defaultCurrency) { this.defaultCurrency = defaultCurrency; }
-    
-    public boolean isDarkMode() { return darkMode; }
-    public void setDarkMode(boolean darkMode) { this.darkMode = darkMode; }
-    
-    public boolean isAutoSave() { return autoSave; }
-    public void setAutoSave(boolean autoSave) { this.autoSave = autoSave; }
-    
-    public int getLowStockThreshold() { return lowStockThreshold; }
-    public void setLowStockThreshold(int lowStockThreshold) { this.lowStockThreshold = lowStockThreshold; }
-    
-    public String getBackupDirectory() { return backupDirectory; }
-    public void setBackupDirectory(String backupDirectory) { this.backupDirectory = backupDirectory; }
-}
-
-// Enhanced Recipe Management System
-class Recipe {
-    private String name;
-    private String category;
-    private String description;
-    private int preparationTime; // minutes
-    private String difficulty;
-    private List<RecipeIngredient> ingredients;
-    private String instructions;
-    private String imagePath;
-    private LocalDateTime createdDate;
-    private LocalDateTime lastModified;
-    private int timesUsed;
-
-    public Recipe() {
-        this.ingredients = new ArrayList<>();
-        this.createdDate = LocalDateTime.now();
-        this.lastModified = LocalDateTime.now();
-        this.timesUsed = 0;
-    }
-
-    public Recipe(String name, String category) {
-        this();
-        this.name = name;
-        this.category = category;
-    }
-
-    // Getters and setters
-    public String getName() { return name; }
-    public void setName(String name) { 
-        this.name = name; 
-        this.lastModified = LocalDateTime.now();
-    }
-
-    public String getCategory() { return category; }
-    public void setCategory(String category) { 
-        this.category = category;
-        this.lastModified = LocalDateTime.now();
-    }
-
-    public String getDescription() { return description; }
-    public void setDescription(String description) { 
-        this.description = description;
-        this.lastModified = LocalDateTime.now();
-    }
-
-    public int getPreparationTime() { return preparationTime; }
-    public void setPreparationTime(int preparationTime) { 
-        this.preparationTime = preparationTime;
-        this.lastModified = LocalDateTime.now();
-    }
-
-    public String getDifficulty() { return difficulty; }
-    public void setDifficulty(String difficulty) { 
-        this.difficulty = difficulty;
-        this.lastModified = LocalDateTime.now();
-    }
-
-    public List<RecipeIngredient> getIngredients() { return ingredients; }
-    public void setIngredients(List<RecipeIngredient> ingredients) { 
-        this.ingredients = ingredients;
-        this.lastModified = LocalDateTime.now();
-    }
-
-    public String getInstructions() { return instructions; }
-    public void setInstructions(String instructions) { 
-        this.instructions = instructions;
-        this.lastModified = LocalDateTime.now();
-    }
-
-    public String getImagePath() { return imagePath; }
-    public void setImagePath(String imagePath) { 
-        this.imagePath = imagePath;
-        this.lastModified = LocalDateTime.now();
-    }
-
-    public LocalDateTime getCreatedDate() { return createdDate; }
-    public LocalDateTime getLastModified() { return lastModified; }
-    
-    public int getTimesUsed() { return timesUsed; }
-    public void incrementUsage() { 
-        this.timesUsed++;
-        this.lastModified = LocalDateTime.now();
-    }
-
-    public void addIngredient(RecipeIngredient ingredient) {
-        this.ingredients.add(ingredient);
-        this.lastModified = LocalDateTime.now();
-    }
-
-    public void removeIngredient(RecipeIngredient ingredient) {
-        this.ingredients.remove(ingredient);
-        this.lastModified = LocalDateTime.now();
-    }
-
-    public double calculateTotalCost(List<CoffeeProduct> inventory) {
-        return ingredients.stream()
-                .mapToDouble(ingredient -> {
-                    CoffeeProduct product = inventory.stream()
-                            .filter(p -> p.getName().equalsIgnoreCase(ingredient.getName()))
-                            .findFirst()
-                            .orElse(null);
-                    return product != null ? ingredient.getAmount() * product.getCostPerUnit() : 0.0;
-                })
-                .sum();
-    }
-}
-
-class RecipeIngredient {
-    private String name;
-    private double amount;
-    private String unit;
-    private boolean optional;
-    private String notes;
-
-    public RecipeIngredient() {}
-
-    public RecipeIngredient(String name, double amount, String unit) {
-        this.name = name;
-        this.amount = amount;
-        this.unit = unit;
-        this.optional = false;
-    }
-
-    public RecipeIngredient(String name, double amount, String unit, boolean optional) {
-        this(name, amount, unit);
-        this.optional = optional;
-    }
-
-    // Getters and setters
-    public String getName() { return name; }
-    public void setName(String name) { this.name = name; }
-
-    public double getAmount() { return amount; }
-    public void setAmount(double amount) { this.amount = amount; }
-
-    public String getUnit() { return unit; }
-    public void setUnit(String unit) { this.unit = unit; }
-
-    public boolean isOptional() { return optional; }
-    public void setOptional(boolean optional) { this.optional = optional; }
-
-    public String getNotes() { return notes; }
-    public void setNotes(String notes) { this.notes = notes; }
-}
-
-// Enhanced Recipe Manager
-class EnhancedRecipeManager {
-    private Map<String, Recipe> recipes;
-    private DataPersistence dataPersistence;
-    private List<String> categories;
-
-    public EnhancedRecipeManager() {
-        this.dataPersistence = new DataPersistence();
-        this.recipes = dataPersistence.loadRecipes();
-        this.categories = Arrays.asList("Hot Drinks", "Cold Drinks", "Specialty", "Seasonal", "Desserts");
-        
-        if (recipes.isEmpty()) {
-            initializeDefaultRecipes();
-        }
-    }
-
-    private void initializeDefaultRecipes() {
-        // Create default recipes
-        Recipe caramelMacchiato = new Recipe("Caramel Macchiato", "Hot Drinks");
-        caramelMacchiato.setDescription("Rich espresso with steamed milk and caramel");
-        caramelMacchiato.setPreparationTime(5);
-        caramelMacchiato.setDifficulty("Medium");
-        caramelMacchiato.addIngredient(new RecipeIngredient("Milk", 200, "ml"));
-        caramelMacchiato.addIngredient(new RecipeIngredient("Espresso", 30, "ml"));
-        caramelMacchiato.addIngredient(new RecipeIngredient("Caramel Syrup", 15, "ml"));
-        caramelMacchiato.addIngredient(new RecipeIngredient("Sugar", 5, "g", true));
-        caramelMacchiato.addIngredient(new RecipeIngredient("Whipped Cream", 20, "ml", true));
-
-        Recipe latte = new Recipe("Caffe Latte", "Hot Drinks");
-        latte.setDescription("Classic espresso with steamed milk");
-        latte.setPreparationTime(3);
-        latte.setDifficulty("Easy");
-        latte.addIngredient(new RecipeIngredient("Milk", 220, "ml"));
-        latte.addIngredient(new RecipeIngredient("Espresso", 30, "ml"));
-        latte.addIngredient(new RecipeIngredient("Sugar", 5, "g", true));
-
-        Recipe cappuccino = new Recipe("Cappuccino", "Hot Drinks");
-        cappuccino.setDescription("Equal parts espresso, steamed milk, and milk foam");
-        cappuccino.setPreparationTime(4);
-        cappuccino.setDifficulty("Medium");
-        cappuccino.addIngredient(new RecipeIngredient("Milk", 150, "ml"));
-        cappuccino.addIngredient(new RecipeIngredient("Espresso", 30, "ml"));
-        cappuccino.addIngredient(new RecipeIngredient("Sugar", 5, "g", true));
-        cappuccino.addIngredient(new RecipeIngredient("Foamed Milk", 50, "ml"));
-
-        recipes.put(caramelMacchiato.getName(), caramelMacchiato);
-        recipes.put(latte.getName(), latte);
-        recipes.put(cappuccino.getName(), cappuccino);
-        
-        saveRecipes();
-    }
-
-    public void addRecipe(Recipe recipe) {
-        recipes.put(recipe.getName(), recipe);
-        saveRecipes();
-    }
-
-    public void removeRecipe(String name) {
-        recipes.remove(name);
-        saveRecipes();
-    }
-
-    public void updateRecipe(String oldName, Recipe updatedRecipe) {
-        recipes.remove(oldName);
-        recipes.put(updatedRecipe.getName(), updatedRecipe);
-        saveRecipes();
-    }
-
-    public Recipe getRecipe(String name) {
-        return recipes.get(name);
-    }
-
-    public Set<String> getRecipeNames() {
-        return recipes.keySet();
-    }
-
-    public List<Recipe> getRecipesByCategory(String category) {
-        return recipes.values().stream()
-                .filter(recipe -> category.equals(recipe.getCategory()))
-                .sorted((r1, r2) -> r1.getName().compareToIgnoreCase(r2.getName()))
-                .toList();
-    }
-
-    public List<Recipe> searchRecipes(String searchTerm) {
-        String term = searchTerm.toLowerCase();
-        return recipes.values().stream()
-                .filter(recipe -> 
-                    recipe.getName().toLowerCase().contains(term) ||
-                    (recipe.getDescription() != null && recipe.getDescription().toLowerCase().contains(term)) ||
-                    recipe.getIngredients().stream().anyMatch(ing -> ing.getName().toLowerCase().contains(term)))
-                .toList();
-    }
-
-    public List<Recipe> getPopularRecipes(int limit) {
-        return recipes.values().stream()
-                .sorted((r1, r2) -> Integer.compare(r2.getTimesUsed(), r1.getTimesUsed()))
-                .limit(limit)
-                .toList();
-    }
-
-    public List<String> getCategories() {
-        return new ArrayList<>(categories);
-    }
-
-    public void addCategory(String category) {
-        if (!categories.contains(category)) {
-            categories.add(category);
-        }
-    }
-
-    private void saveRecipes() {
-        dataPersistence.saveRecipes(recipes);
-    }
-
-    public Map<String, Recipe> getAllRecipes() {
-        return new HashMap<>(recipes);
-    }
-}
-
-// Validation utilities
-class ValidationUtils {
-    public static class ValidationResult {
-        private boolean valid;
-        private String errorMessage;
-
-        public ValidationResult(boolean valid, String errorMessage) {
-            this.valid = valid;
-            this.errorMessage = errorMessage;
-        }
-
-        public boolean isValid() { return valid; }
-        public String getErrorMessage() { return errorMessage; }
-    }
-
-    public static ValidationResult validateProduct(CoffeeProduct product) {
-        if (product.getName() == null || product.getName().trim().isEmpty()) {
-            return new ValidationResult(false, "Product name cannot be empty");
-        }
-        if (product.getTotalCost() < 0) {
-            return new ValidationResult(false, "Total cost cannot be negative");
-        }
-        if (product.getUnitSize() <= 0) {
-            return new ValidationResult(false, "Unit size must be positive");
-        }
-        if (product.getStock() < 0) {
-            return new ValidationResult(false, "Stock cannot be negative");
-        }
-        if (product.getMinStock() < 0) {
-            return new ValidationResult(false, "Minimum stock cannot be negative");
-        }
-        return new ValidationResult(true, null);
-    }
-
-    public static ValidationResult validateRecipe(Recipe recipe) {
-        if (recipe.getName() == null || recipe.getName().trim().isEmpty()) {
-            return new ValidationResult(false, "Recipe name cannot be empty");
-        }
-        if (recipe.getIngredients().isEmpty()) {
-            return new ValidationResult(false, "Recipe must have at least one ingredient");
-        }
-        for (RecipeIngredient ingredient : recipe.getIngredients()) {
-            if (ingredient.getName() == null || ingredient.getName().trim().isEmpty()) {
-                return new ValidationResult(false, "Ingredient name cannot be empty");
-            }
-            if (ingredient.getAmount() <= 0) {
-                return new ValidationResult(false, "Ingredient amount must be positive");
-            }
-        }
-        return new ValidationResult(true, null);
-    }
-
-    public static boolean isValidEmail(String email) {
-        return email != null && email.matches("^[A-Za-z0-9+_.-]+@(.+)$");
-    }
-
-    public static boolean isValidPhoneNumber(String phone) {
-        return phone != null && phone.matches("^[+]?[0-9\\s\\-()]{7,15}$");
-    }
-}
-
-// Backup and Export utilities
-class BackupManager {
-    private DataPersistence dataPersistence;
-    private String backupDirectory;
-
-    public BackupManager(String backupDirectory) {
-        this.dataPersistence = new DataPersistence();
-        this.backupDirectory = backupDirectory;
-        createBackupDirectory();
-    }
-
-    private void createBackupDirectory() {
-        File dir = new File(backupDirectory);
-        if (!dir.exists()) {
-            dir.mkdirs();
-        }
-    }
-
-    public void createBackup() {
-        String timestamp = LocalDateTime.now().toString().replaceAll(":", "-");
-        String backupPath = backupDirectory + "backup_" + timestamp + "/";
-        
-        File backupDir = new File(backupPath);
-        backupDir.mkdirs();
-
-        try {
-            // Copy current data files to backup directory
-            copyFile("coffee_inventory.json", backupPath + "coffee_inventory.json");
-            copyFile("coffee_recipes.json", backupPath + "coffee_recipes.json");
-            copyFile("app_settings.json", backupPath + "app_settings.json");
-        } catch (IOException e) {
-            System.err.println("Error creating backup: " + e.getMessage());
-        }
-    }
-
-    private void copyFile(String source, String destination) throws IOException {
-        File sourceFile = new File(source);
-        File destFile = new File(destination);
-        
-        if (sourceFile.exists()) {
-            try (FileInputStream fis = new FileInputStream(sourceFile);
-                 FileOutputStream fos = new FileOutputStream(destFile)) {
-                byte[] buffer = new byte[1024];
-                int bytesRead;
-                while ((bytesRead = fis.read(buffer)) != -1) {
-                    fos.write(buffer, 0, bytesRead);
-                }
-            }
-        }
-    }
-
-    public List<String> getAvailableBackups() {
-        File backupDir = new File(backupDirectory);
-        File[] backupFolders = backupDir.listFiles(File::isDirectory);
-        List<String> backups = new ArrayList<>();
-        
-        if (backupFolders != null) {
-            for (File folder : backupFolders) {
-                if (folder.getName().startsWith("backup_")) {
-                    backups.add(folder.getName());
-                }
-            }
-        }
-        
-        backups.sort(Collections.reverseOrder()); // Most recent first
-        return backups;
-    }
-}
-
-// Usage Analytics
-class UsageAnalytics {
-    private Map<String, Integer> recipeUsageCount;
-    private Map<String, Double> ingredientUsageAmount;
-    private LocalDateTime lastReset;
-
-    public UsageAnalytics() {
-        this.recipeUsageCount = new HashMap<>();
-        this.ingredientUsageAmount = new HashMap<>();
-        this.lastReset = LocalDateTime.now();
-    }
-
-    public void recordRecipeUsage(String recipeName) {
-        recipeUsageCount.merge(recipeName, 1, Integer::sum);
-    }
-
-    public void recordIngredientUsage(String ingredientName, double amount) {
-        ingredientUsageAmount.merge(ingredientName, amount, Double::sum);
-    }
-
-    public Map<String, Integer> getRecipeUsageCount() {
-        return new HashMap<>(recipeUsageCount);
-    }
-
-    public Map<String, Double> getIngredientUsageAmount() {
-        return new HashMap<>(ingredientUsageAmount);
-    }
-
-    public List<Map.Entry<String, Integer>> getTopRecipes(int limit) {
-        return recipeUsageCount.entrySet().stream()
-                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
-                .limit(limit)
-                .toList();
-    }
-
-    public void resetAnalytics() {
-        recipeUsageCount.clear();
-        ingredientUsageAmount.clear();
-        lastReset = LocalDateTime.now();
-    }
-
-    public LocalDateTime getLastReset() {
-        return lastReset;
-    }
+// DataPersistence.java - Missing implementation
+package Micow.ProjectC.Micow_Cashier;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Handles data persistence for the coffee shop management system
+ */
+public class DataPersistence implements InventoryStore {
+    private static final String INVENTORY_FILE = "coffee_inventory.json";
+    private static final String INVENTORY_BINARY_FILE = "coffee_inventory.bin";
+    private static final String INVENTORY_CHANGES_FILE = "coffee_inventory.changes";
+    private static final String INVENTORY_JOURNAL_DIR = "inventory_journal";
+    private static final String RECIPES_FILE = "coffee_recipes.json";
+    private static final String SETTINGS_FILE = "app_settings.json";
+    private static final CoffeeProductAdapter PRODUCT_ADAPTER = new CoffeeProductAdapter();
+    static final RecipeAdapter RECIPE_ADAPTER = new RecipeAdapter();
+    private final Gson gson;
+    private final boolean streaming;
+    private final boolean binarySnapshot;
+    private final File dataDirectory;
+    private volatile int inventoryChangeCount;
+
+    public DataPersistence() {
+        this(true);
+    }
+
+    // streaming = compact JSON through hand-written adapters; false = pretty-printed reflection
+    public DataPersistence(boolean streaming) {
+        this(StorageBackends.dataDirectory().getPath(), streaming);
+    }
+
+    public DataPersistence(String dataDirectory, boolean streaming) {
+        this(dataDirectory, streaming, streaming);
+    }
+
+    // binarySnapshot = inventory snapshot in coffee_inventory.bin instead of JSON
+    public DataPersistence(String dataDirectory, boolean streaming, boolean binarySnapshot) {
+        this.streaming = streaming;
+        this.binarySnapshot = binarySnapshot;
+        this.dataDirectory = new File(dataDirectory);
+        this.gson = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                // Stock and cost live in ProductColumns, not in fields reflection could see
+                .registerTypeAdapter(CoffeeProduct.class, PRODUCT_ADAPTER)
+                .setPrettyPrinting()
+                .create();
+    }
+
+    @Override
+    public File getDataDirectory() {
+        return dataDirectory;
+    }
+
+    // Inventory persistence
+    // Writes a full snapshot; the change log is folded into it and moved to the journal
+    public void saveInventory(List<CoffeeProduct> products) {
+        if (writeInventorySnapshot(products)) {
+            archiveChangeLog();
+            inventoryChangeCount = 0;
+        }
+    }
+
+    // Old change logs are kept so RestoreEngine can replay them
+    private void archiveChangeLog() {
+        File changes = file(INVENTORY_CHANGES_FILE);
+        if (!changes.exists()) return;
+        File journal = file(INVENTORY_JOURNAL_DIR);
+        journal.mkdirs();
+        File archived = new File(journal, String.format("changes-%013d.log", System.currentTimeMillis()));
+        if (!changes.renameTo(archived)) {
+            changes.delete();
+        }
+    }
+
+    // Archived change logs oldest first, then the live one
+    List<File> getInventoryChangeLogs() {
+        List<File> logs = new ArrayList<>();
+        File[] archived = file(INVENTORY_JOURNAL_DIR).listFiles((dir, name) -> name.startsWith("changes-"));
+        if (archived != null) {
+            Arrays.sort(archived);
+            logs.addAll(Arrays.asList(archived));
+        }
+        File live = file(INVENTORY_CHANGES_FILE);
+        if (live.exists()) logs.add(live);
+        return logs;
+    }
+
+    private boolean writeInventorySnapshot(List<CoffeeProduct> products) {
+        if (binarySnapshot) {
+            try {
+                InventorySnapshotCodec.write(file(INVENTORY_BINARY_FILE), products);
+                return true;
+            } catch (IOException e) {
+                System.err.println("Error saving inventory: " + e.getMessage());
+                return false;
+            }
+        }
+        return writeInventoryJson(products, file(INVENTORY_FILE));
+    }
+
+    // Plain JSON copy of the catalog for other tools; not read back at startup
+    public boolean exportInventoryJson(List<CoffeeProduct> products, File target) {
+        return writeInventoryJson(products, target);
+    }
+
+    private boolean writeInventoryJson(List<CoffeeProduct> products, File target) {
+        if (streaming) {
+            try (JsonWriter out = new JsonWriter(new BufferedWriter(new FileWriter(target)))) {
+                out.setSerializeNulls(false);
+                out.beginArray();
+                for (CoffeeProduct product : products) {
+                    PRODUCT_ADAPTER.write(out, product);
+                }
+                out.endArray();
+                return true;
+            } catch (IOException e) {
+                System.err.println("Error saving inventory: " + e.getMessage());
+                return false;
+            }
+        }
+        try (FileWriter writer = new FileWriter(target)) {
+            gson.toJson(products, writer);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error saving inventory: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Appends one line per changed or removed product to the change log next
+     * to the snapshot, instead of rewriting the whole catalog.
+     */
+    public void appendInventoryChanges(Collection<CoffeeProduct> changed, Map<String, Long> removed) {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file(INVENTORY_CHANGES_FILE), true))) {
+            for (Map.Entry<String, Long> entry : removed.entrySet()) {
+                writer.write(changeRecord(entry.getValue(), "remove", entry.getKey(), null));
+                writer.newLine();
+            }
+            for (CoffeeProduct product : changed) {
+                // Stamped with the time of the edit, not of this write
+                long ts = product.getChangedAt() > 0 ? product.getChangedAt() : System.currentTimeMillis();
+                writer.write(changeRecord(ts, "put", null, product));
+                writer.newLine();
+            }
+            inventoryChangeCount += removed.size() + changed.size();
+        } catch (IOException e) {
+            System.err.println("Error saving inventory changes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves a restored catalog as the new snapshot and logs the restore as
+     * one record holding the whole catalog. Replaying the logs across this
+     * point then gives the restored state, not the edits it undid.
+     */
+    @Override
+    public void saveRestoredInventory(List<CoffeeProduct> products) {
+        saveInventory(products);
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file(INVENTORY_CHANGES_FILE), true))) {
+            StringWriter buffer = new StringWriter();
+            try (JsonWriter out = new JsonWriter(buffer)) {
+                out.setSerializeNulls(false);
+                out.beginObject();
+                out.name("ts").value(System.currentTimeMillis());
+                out.name("op").value("restore");
+                out.name("products").beginArray();
+                for (CoffeeProduct product : products) {
+                    PRODUCT_ADAPTER.write(out, product);
+                }
+                out.endArray();
+                out.endObject();
+            }
+            writer.write(buffer.toString());
+            writer.newLine();
+            inventoryChangeCount++;
+        } catch (IOException e) {
+            System.err.println("Error saving inventory changes: " + e.getMessage());
+        }
+    }
+
+    // Number of records in the change log since the last full snapshot
+    public int getInventoryChangeCount() {
+        return inventoryChangeCount;
+    }
+
+    public List<CoffeeProduct> loadInventory() {
+        List<CoffeeProduct> products = replayInventoryChanges(readInventorySnapshot());
+        if (binarySnapshot && !file(INVENTORY_BINARY_FILE).exists() && file(INVENTORY_FILE).exists()) {
+            // One-time migration from the JSON snapshot
+            saveInventory(products);
+        }
+        return products;
+    }
+
+    private List<CoffeeProduct> readInventorySnapshot() {
+        File binary = file(INVENTORY_BINARY_FILE);
+        if (binarySnapshot && binary.exists()) {
+            try {
+                return InventorySnapshotCodec.read(binary);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Error loading inventory snapshot, falling back to JSON: " + e.getMessage());
+            }
+        }
+        // Older installs only have the JSON file; the next save writes the binary snapshot
+        if (streaming) {
+            try (JsonReader in = new JsonReader(new BufferedReader(new FileReader(file(INVENTORY_FILE))))) {
+                List<CoffeeProduct> products = new ArrayList<>();
+                if (in.peek() == JsonToken.NULL) return products;
+                in.beginArray();
+                while (in.hasNext()) {
+                    products.add(PRODUCT_ADAPTER.read(in));
+                }
+                in.endArray();
+                return products;
+            } catch (FileNotFoundException e) {
+                System.out.println("No existing inventory file found. Starting fresh.");
+                return new ArrayList<>();
+            } catch (IOException | IllegalStateException e) {
+                System.err.println("Error loading inventory: " + e.getMessage());
+                return new ArrayList<>();
+            }
+        }
+        try (FileReader reader = new FileReader(file(INVENTORY_FILE))) {
+            Type listType = new TypeToken<List<CoffeeProduct>>(){}.getType();
+            List<CoffeeProduct> products = gson.fromJson(reader, listType);
+            return products != null ? products : new ArrayList<>();
+        } catch (IOException e) {
+            System.out.println("No existing inventory file found. Starting fresh.");
+            return new ArrayList<>();
+        }
+    }
+
+    private List<CoffeeProduct> replayInventoryChanges(List<CoffeeProduct> snapshot) {
+        inventoryChangeCount = 0;
+        File changes = file(INVENTORY_CHANGES_FILE);
+        if (!changes.exists()) return snapshot;
+
+        Map<String, CoffeeProduct> byName = new LinkedHashMap<>();
+        for (CoffeeProduct product : snapshot) {
+            byName.put(product.getName(), product);
+        }
+        inventoryChangeCount = replayChangeLog(changes, 0, Long.MIN_VALUE, Long.MAX_VALUE, byName);
+        return new ArrayList<>(byName.values());
+    }
+
+    /**
+     * Applies the records of one change log from the given byte offset on
+     * whose time is in (after, until] and returns how many were read.
+     * Records from before timestamps were written count as time 0.
+     */
+    static int replayChangeLog(File log, long offset, long after, long until, Map<String, CoffeeProduct> byName) {
+        int records = 0;
+        try (FileInputStream stream = new FileInputStream(log);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(stream))) {
+            stream.getChannel().position(offset);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                try (JsonReader in = new JsonReader(new StringReader(line))) {
+                    applyChangeRecord(in, byName, after, until);
+                    records++;
+                } catch (IOException | IllegalStateException | NumberFormatException e) {
+                    // A torn last line from an interrupted write
+                    System.err.println("Skipping unreadable inventory change: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading inventory changes: " + e.getMessage());
+        }
+        return records;
+    }
+
+    private static String changeRecord(long ts, String op, String name, CoffeeProduct product) throws IOException {
+        StringWriter buffer = new StringWriter();
+        try (JsonWriter out = new JsonWriter(buffer)) {
+            out.setSerializeNulls(false);
+            out.beginObject();
+            out.name("ts").value(ts);
+            out.name("op").value(op);
+            out.name("name").value(name);
+            if (product != null) {
+                out.name("product");
+                PRODUCT_ADAPTER.write(out, product);
+            }
+            out.endObject();
+        }
+        return buffer.toString();
+    }
+
+    private static void applyChangeRecord(JsonReader in, Map<String, CoffeeProduct> byName,
+                                          long after, long until) throws IOException {
+        String op = null, name = null;
+        CoffeeProduct product = null;
+        List<CoffeeProduct> restored = null;
+        long ts = 0;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "ts" -> ts = in.nextLong();
+                case "op" -> op = in.nextString();
+                case "name" -> name = in.nextString();
+                case "product" -> product = PRODUCT_ADAPTER.read(in);
+                case "products" -> {
+                    restored = new ArrayList<>();
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        restored.add(PRODUCT_ADAPTER.read(in));
+                    }
+                    in.endArray();
+                }
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        if (ts <= after || ts > until) return;
+        if ("remove".equals(op)) {
+            byName.remove(name);
+        } else if ("put".equals(op) && product != null) {
+            byName.put(product.getName(), product);
+        } else if ("restore".equals(op) && restored != null) {
+            byName.clear();
+            for (CoffeeProduct p : restored) {
+                byName.put(p.getName(), p);
+            }
+        }
+    }
+
+    // Recipe persistence
+    public void saveRecipes(Map<String, Recipe> recipes) {
+        if (streaming) {
+            try (JsonWriter out = new JsonWriter(new BufferedWriter(new FileWriter(file(RECIPES_FILE))))) {
+                out.setSerializeNulls(false);
+                out.beginObject();
+                for (Map.Entry<String, Recipe> entry : recipes.entrySet()) {
+                    out.name(entry.getKey());
+                    RECIPE_ADAPTER.write(out, entry.getValue());
+                }
+                out.endObject();
+            } catch (IOException e) {
+                System.err.println("Error saving recipes: " + e.getMessage());
+            }
+            return;
+        }
+        try (FileWriter writer = new FileWriter(file(RECIPES_FILE))) {
+            gson.toJson(recipes, writer);
+        } catch (IOException e) {
+            System.err.println("Error saving recipes: " + e.getMessage());
+        }
+    }
+
+    public Map<String, Recipe> loadRecipes() {
+        if (streaming) {
+            try (JsonReader in = new JsonReader(new BufferedReader(new FileReader(file(RECIPES_FILE))))) {
+                Map<String, Recipe> recipes = new HashMap<>();
+                if (in.peek() == JsonToken.NULL) return recipes;
+                in.beginObject();
+                while (in.hasNext()) {
+                    recipes.put(in.nextName(), RECIPE_ADAPTER.read(in));
+                }
+                in.endObject();
+                return recipes;
+            } catch (FileNotFoundException e) {
+                System.out.println("No existing recipes file found. Loading defaults.");
+                return new HashMap<>();
+            } catch (IOException | IllegalStateException e) {
+                System.err.println("Error loading recipes: " + e.getMessage());
+                return new HashMap<>();
+            }
+        }
+        try (FileReader reader = new FileReader(file(RECIPES_FILE))) {
+            Type mapType = new TypeToken<Map<String, Recipe>>(){}.getType();
+            Map<String, Recipe> recipes = gson.fromJson(reader, mapType);
+            return recipes != null ? recipes : new HashMap<>();
+        } catch (IOException e) {
+            System.out.println("No existing recipes file found. Loading defaults.");
+            return new HashMap<>();
+        }
+    }
+
+    // Settings persistence
+    public void saveSettings(AppSettings settings) {
+        try (FileWriter writer = new FileWriter(file(SETTINGS_FILE))) {
+            gson.toJson(settings, writer);
+        } catch (IOException e) {
+            System.err.println("Error saving settings: " + e.getMessage());
+        }
+    }
+
+    public AppSettings loadSettings() {
+        try (FileReader reader = new FileReader(file(SETTINGS_FILE))) {
+            AppSettings settings = gson.fromJson(reader, AppSettings.class);
+            return settings != null ? settings : new AppSettings();
+        } catch (IOException e) {
+            return new AppSettings();
+        }
+    }
+
+    // Custom adapter for LocalDateTime
+    private static class LocalDateTimeAdapter implements JsonSerializer<LocalDateTime>, JsonDeserializer<LocalDateTime> {
+        @Override
+        public JsonElement serialize(LocalDateTime src, Type typeOfSrc, JsonSerializationContext context) {
+            return new JsonPrimitive(src.toString());
+        }
+
+        @Override
+        public LocalDateTime deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) {
+            return LocalDateTime.parse(json.getAsString());
+        }
+    }
+
+    private File file(String name) {
+        return new File(dataDirectory, name);
+    }
+
+    // Hand-written adapters for the streaming mode. Field names match the
+    // reflection format, so files written by either mode load in both.
+    static class CoffeeProductAdapter extends TypeAdapter<CoffeeProduct> {
+        @Override
+        public void write(JsonWriter out, CoffeeProduct p) throws IOException {
+            out.beginObject();
+            out.name("id").value(p.getId());
+            out.name("name").value(p.getName());
+            out.name("category").value(p.getCategory());
+            out.name("totalCost").value(p.getTotalCost());
+            out.name("unitSize").value(p.getUnitSize());
+            out.name("unit").value(p.getUnit());
+            out.name("stock").value(p.getStock());
+            out.name("minStock").value(p.getMinStock());
+            out.name("imagePath").value(p.getImagePath());
+            out.name("lastUpdated").value(p.getLastUpdated() != null ? p.getLastUpdated().toString() : null);
+            out.name("ingredients");
+            writeAmounts(out, p.getIngredients());
+            out.endObject();
+        }
+
+        @Override
+        public CoffeeProduct read(JsonReader in) throws IOException {
+            long id = 0;
+            String name = null, category = null, unit = null, imagePath = null;
+            double totalCost = 0, unitSize = 0, stock = 0, minStock = 0;
+            LocalDateTime lastUpdated = null;
+            Map<String, Double> ingredients = null;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String field = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (field) {
+                    case "id" -> id = in.nextLong();
+                    case "name" -> name = in.nextString();
+                    case "category" -> category = in.nextString();
+                    case "totalCost" -> totalCost = in.nextDouble();
+                    case "unitSize" -> unitSize = in.nextDouble();
+                    case "unit" -> unit = in.nextString();
+                    case "stock" -> stock = in.nextDouble();
+                    case "minStock" -> minStock = in.nextDouble();
+                    case "imagePath" -> imagePath = in.nextString();
+                    case "lastUpdated" -> lastUpdated = LocalDateTime.parse(in.nextString());
+                    case "ingredients" -> ingredients = readAmounts(in);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+
+            CoffeeProduct product = new CoffeeProduct(name, category, totalCost, unitSize, unit, stock, minStock, imagePath);
+            product.restoreState(lastUpdated, ingredients);
+            product.setId(id);
+            return product;
+        }
+
+        private static void writeAmounts(JsonWriter out, Map<String, Double> amounts) throws IOException {
+            out.beginObject();
+            for (Map.Entry<String, Double> entry : amounts.entrySet()) {
+                out.name(entry.getKey()).value(entry.getValue());
+            }
+            out.endObject();
+        }
+
+        private static Map<String, Double> readAmounts(JsonReader in) throws IOException {
+            Map<String, Double> amounts = new HashMap<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                amounts.put(in.nextName(), in.nextDouble());
+            }
+            in.endObject();
+            return amounts;
+        }
+    }
+
+    static class RecipeAdapter extends TypeAdapter<Recipe> {
+        private static final RecipeIngredientAdapter INGREDIENT_ADAPTER = new RecipeIngredientAdapter();
+
+        @Override
+        public void write(JsonWriter out, Recipe r) throws IOException {
+            out.beginObject();
+            out.name("name").value(r.getName());
+            out.name("category").value(r.getCategory());
+            out.name("description").value(r.getDescription());
+            out.name("preparationTime").value(r.getPreparationTime());
+            out.name("difficulty").value(r.getDifficulty());
+            out.name("ingredients").beginArray();
+            for (RecipeIngredient ingredient : r.getIngredients()) {
+                INGREDIENT_ADAPTER.write(out, ingredient);
+            }
+            out.endArray();
+            out.name("instructions").value(r.getInstructions());
+            out.name("imagePath").value(r.getImagePath());
+            out.name("createdDate").value(r.getCreatedDate() != null ? r.getCreatedDate().toString() : null);
+            out.name("lastModified").value(r.getLastModified() != null ? r.getLastModified().toString() : null);
+            out.name("timesUsed").value(r.getTimesUsed());
+            out.endObject();
+        }
+
+        @Override
+        public Recipe read(JsonReader in) throws IOException {
+            Recipe recipe = new Recipe();
+            LocalDateTime createdDate = recipe.getCreatedDate();
+            LocalDateTime lastModified = recipe.getLastModified();
+            int timesUsed = 0;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String field = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (field) {
+                    case "name" -> recipe.setName(in.nextString());
+                    case "category" -> recipe.setCategory(in.nextString());
+                    case "description" -> recipe.setDescription(in.nextString());
+                    case "preparationTime" -> recipe.setPreparationTime(in.nextInt());
+                    case "difficulty" -> recipe.setDifficulty(in.nextString());
+                    case "ingredients" -> {
+                        List<RecipeIngredient> ingredients = new ArrayList<>();
+                        in.beginArray();
+                        while (in.hasNext()) {
+                            ingredients.add(INGREDIENT_ADAPTER.read(in));
+                        }
+                        in.endArray();
+                        recipe.setIngredients(ingredients);
+                    }
+                    case "instructions" -> recipe.setInstructions(in.nextString());
+                    case "imagePath" -> recipe.setImagePath(in.nextString());
+                    case "createdDate" -> createdDate = LocalDateTime.parse(in.nextString());
+                    case "lastModified" -> lastModified = LocalDateTime.parse(in.nextString());
+                    case "timesUsed" -> timesUsed = in.nextInt();
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+
+            // Setters above bump lastModified, so the stored metadata goes on last
+            recipe.restoreMetadata(createdDate, lastModified, timesUsed);
+            return recipe;
+        }
+    }
+
+    static class RecipeIngredientAdapter extends TypeAdapter<RecipeIngredient> {
+        @Override
+        public void write(JsonWriter out, RecipeIngredient i) throws IOException {
+            out.beginObject();
+            out.name("name").value(i.getName());
+            out.name("amount").value(i.getAmount());
+            out.name("unit").value(i.getUnit());
+            out.name("optional").value(i.isOptional());
+            out.name("notes").value(i.getNotes());
+            out.endObject();
+        }
+
+        @Override
+        public RecipeIngredient read(JsonReader in) throws IOException {
+            RecipeIngredient ingredient = new RecipeIngredient();
+            in.beginObject();
+            while (in.hasNext()) {
+                String field = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (field) {
+                    case "name" -> ingredient.setName(in.nextString());
+                    case "amount" -> ingredient.setAmount(in.nextDouble());
+                    case "unit" -> ingredient.setUnit(in.nextString());
+                    case "optional" -> ingredient.setOptional(in.nextBoolean());
+                    case "notes" -> ingredient.setNotes(in.nextString());
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return ingredient;
+        }
+    }
+}
+
+// AppSettings.java - Configuration management
+class AppSettings {
+    private double defaultProfitMargin = 0.30;
+    private String defaultCurrency = "₱";
+    private boolean darkMode = false;
+    private boolean autoSave = true;
+    private int lowStockThreshold = 10;
+    private String backupDirectory = "./backups/";
+    private String storageBackend = "files";   // "files", "mapped" or "sql"
+    private String databaseUrl = "jdbc:h2:./micow_data";
+    private int backupIntervalMinutes = 60;
+    private int groupCommitMillis = 0;         // 0 writes each checkout through the write-behind executor
+
+    // Getters and setters
+    public double getDefaultProfitMargin() { return defaultProfitMargin; }
+    public void setDefaultProfitMargin(double defaultProfitMargin) { this.defaultProfitMargin = defaultProfitMargin; }
+    
+    public String getDefaultCurrency() { return defaultCurrency; }
+    public void setDefaultCurrency(String defaultCurrency) { this.defaultCurrency = defaultCurrency; }
+    
+    public boolean isDarkMode() { return darkMode; }
+    public void setDarkMode(boolean darkMode) { this.darkMode = darkMode; }
+    
+    public boolean isAutoSave() { return autoSave; }
+    public void setAutoSave(boolean autoSave) { this.autoSave = autoSave; }
+    
+    public int getLowStockThreshold() { return lowStockThreshold; }
+    public void setLowStockThreshold(int lowStockThreshold) { this.lowStockThreshold = lowStockThreshold; }
+    
+    public String getBackupDirectory() { return backupDirectory; }
+    public void setBackupDirectory(String backupDirectory) { this.backupDirectory = backupDirectory; }
+    
+    public String getStorageBackend() { return storageBackend; }
+    public void setStorageBackend(String storageBackend) { this.storageBackend = storageBackend; }
+    
+    public String getDatabaseUrl() { return databaseUrl; }
+    public void setDatabaseUrl(String databaseUrl) { this.databaseUrl = databaseUrl; }
+    
+    public int getBackupIntervalMinutes() { return backupIntervalMinutes; }
+    public void setBackupIntervalMinutes(int backupIntervalMinutes) { this.backupIntervalMinutes = backupIntervalMinutes; }
+
+    public int getGroupCommitMillis() { return groupCommitMillis; }
+    public void setGroupCommitMillis(int groupCommitMillis) { this.groupCommitMillis = groupCommitMillis; }
+}
+
+// Enhanced Recipe Management System
+class Recipe {
+    private String name;
+    private String category;
+    private String description;
+    private int preparationTime; // minutes
+    private String difficulty;
+    private List<RecipeIngredient> ingredients;
+    private String instructions;
+    private String imagePath;
+    private LocalDateTime createdDate;
+    private LocalDateTime lastModified;
+    private int timesUsed;
+
+    public Recipe() {
+        this.ingredients = new ArrayList<>();
+        this.createdDate = LocalDateTime.now();
+        this.lastModified = LocalDateTime.now();
+        this.timesUsed = 0;
+    }
+
+    public Recipe(String name, String category) {
+        this();
+        this.name = name;
+        this.category = category;
+    }
+
+    // Getters and setters
+    public String getName() { return name; }
+    public void setName(String name) { 
+        this.name = name; 
+        this.lastModified = LocalDateTime.now();
+    }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { 
+        this.category = category;
+        this.lastModified = LocalDateTime.now();
+    }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { 
+        this.description = description;
+        this.lastModified = LocalDateTime.now();
+    }
+
+    public int getPreparationTime() { return preparationTime; }
+    public void setPreparationTime(int preparationTime) { 
+        this.preparationTime = preparationTime;
+        this.lastModified = LocalDateTime.now();
+    }
+
+    public String getDifficulty() { return difficulty; }
+    public void setDifficulty(String difficulty) { 
+        this.difficulty = difficulty;
+        this.lastModified = LocalDateTime.now();
+    }
+
+    public List<RecipeIngredient> getIngredients() { return ingredients; }
+    public void setIngredients(List<RecipeIngredient> ingredients) { 
+        this.ingredients = ingredients;
+        this.lastModified = LocalDateTime.now();
+    }
+
+    public String getInstructions() { return instructions; }
+    public void setInstructions(String instructions) { 
+        this.instructions = instructions;
+        this.lastModified = LocalDateTime.now();
+    }
+
+    public String getImagePath() { return imagePath; }
+    public void setImagePath(String imagePath) { 
+        this.imagePath = imagePath;
+        this.lastModified = LocalDateTime.now();
+    }
+
+    public LocalDateTime getCreatedDate() { return createdDate; }
+    public LocalDateTime getLastModified() { return lastModified; }
+    
+    public int getTimesUsed() { return timesUsed; }
+
+    // Used when loading from storage; restores values the setters would overwrite
+    void restoreMetadata(LocalDateTime createdDate, LocalDateTime lastModified, int timesUsed) {
+        this.createdDate = createdDate;
+        this.lastModified = lastModified;
+        this.timesUsed = timesUsed;
+    }
+
+    public void incrementUsage() { 
+        this.timesUsed++;
+        this.lastModified = LocalDateTime.now();
+    }
+
+    public void addIngredient(RecipeIngredient ingredient) {
+        this.ingredients.add(ingredient);
+        this.lastModified = LocalDateTime.now();
+    }
+
+    public void removeIngredient(RecipeIngredient ingredient) {
+        this.ingredients.remove(ingredient);
+        this.lastModified = LocalDateTime.now();
+    }
+
+    public double calculateTotalCost(List<CoffeeProduct> inventory) {
+        // One pass to index the list instead of a scan per ingredient
+        Map<String, CoffeeProduct> byName = new HashMap<>();
+        for (CoffeeProduct product : inventory) {
+            byName.putIfAbsent(InventoryManager.normalizeName(product.getName()), product);
+        }
+        return calculateTotalCost(name -> byName.get(InventoryManager.normalizeName(name)));
+    }
+
+    public double calculateTotalCost(InventoryManager inventory) {
+        return calculateTotalCost(inventory::findProduct);
+    }
+
+    private double calculateTotalCost(Function<String, CoffeeProduct> lookup) {
+        double total = 0;
+        for (RecipeIngredient ingredient : ingredients) {
+            CoffeeProduct product = lookup.apply(ingredient.getName());
+            if (product != null) {
+                total += ingredient.getAmount() * product.getCostPerUnit();
+            }
+        }
+        return total;
+    }
+}
+
+class RecipeIngredient {
+    private String name;
+    private double amount;
+    private String unit;
+    private boolean optional;
+    private String notes;
+
+    public RecipeIngredient() {}
+
+    public RecipeIngredient(String name, double amount, String unit) {
+        this.name = name;
+        this.amount = amount;
+        this.unit = unit;
+        this.optional = false;
+    }
+
+    public RecipeIngredient(String name, double amount, String unit, boolean optional) {
+        this(name, amount, unit);
+        this.optional = optional;
+    }
+
+    // Getters and setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public double getAmount() { return amount; }
+    public void setAmount(double amount) { this.amount = amount; }
+
+    public String getUnit() { return unit; }
+    public void setUnit(String unit) { this.unit = unit; }
+
+    public boolean isOptional() { return optional; }
+    public void setOptional(boolean optional) { this.optional = optional; }
+
+    public String getNotes() { return notes; }
+    public void setNotes(String notes) { this.notes = notes; }
+}
+
+// Enhanced Recipe Manager
+class EnhancedRecipeManager {
+    // Saves within this window of each other are written once
+    private static final long AUTOSAVE_DELAY_MILLIS = 500;
+
+    // The recipes and batch state are guarded by this manager's lock, which
+    // a batch holds throughout, so other threads never see half a batch
+    private final Map<String, Recipe> recipes;
+    private InventoryStore dataPersistence;
+    private List<String> categories;
+    private int batchDepth;
+    private boolean batchChanged;
+
+    public EnhancedRecipeManager() {
+        this(StorageBackends.inventoryStore());
+    }
+
+    public EnhancedRecipeManager(InventoryStore store) {
+        this.dataPersistence = store;
+        this.recipes = dataPersistence.loadRecipes();
+        this.categories = Arrays.asList("Hot Drinks", "Cold Drinks", "Specialty", "Seasonal", "Desserts");
+        
+        if (recipes.isEmpty()) {
+            initializeDefaultRecipes();
+        }
+    }
+
+    private void initializeDefaultRecipes() {
+        // Create default recipes
+        Recipe caramelMacchiato = new Recipe("Caramel Macchiato", "Hot Drinks");
+        caramelMacchiato.setDescription("Rich espresso with steamed milk and caramel");
+        caramelMacchiato.setPreparationTime(5);
+        caramelMacchiato.setDifficulty("Medium");
+        caramelMacchiato.addIngredient(new RecipeIngredient("Milk", 200, "ml"));
+        caramelMacchiato.addIngredient(new RecipeIngredient("Espresso", 30, "ml"));
+        caramelMacchiato.addIngredient(new RecipeIngredient("Caramel Syrup", 15, "ml"));
+        caramelMacchiato.addIngredient(new RecipeIngredient("Sugar", 5, "g", true));
+        caramelMacchiato.addIngredient(new RecipeIngredient("Whipped Cream", 20, "ml", true));
+
+        Recipe latte = new Recipe("Caffe Latte", "Hot Drinks");
+        latte.setDescription("Classic espresso with steamed milk");
+        latte.setPreparationTime(3);
+        latte.setDifficulty("Easy");
+        latte.addIngredient(new RecipeIngredient("Milk", 220, "ml"));
+        latte.addIngredient(new RecipeIngredient("Espresso", 30, "ml"));
+        latte.addIngredient(new RecipeIngredient("Sugar", 5, "g", true));
+
+        Recipe cappuccino = new Recipe("Cappuccino", "Hot Drinks");
+        cappuccino.setDescription("Equal parts espresso, steamed milk, and milk foam");
+        cappuccino.setPreparationTime(4);
+        cappuccino.setDifficulty("Medium");
+        cappuccino.addIngredient(new RecipeIngredient("Milk", 150, "ml"));
+        cappuccino.addIngredient(new RecipeIngredient("Espresso", 30, "ml"));
+        cappuccino.addIngredient(new RecipeIngredient("Sugar", 5, "g", true));
+        cappuccino.addIngredient(new RecipeIngredient("Foamed Milk", 50, "ml"));
+
+        recipes.put(caramelMacchiato.getName(), caramelMacchiato);
+        recipes.put(latte.getName(), latte);
+        recipes.put(cappuccino.getName(), cappuccino);
+        
+        saveRecipes();
+    }
+
+    public synchronized void addRecipe(Recipe recipe) {
+        recipes.put(recipe.getName(), recipe);
+        saveRecipes();
+    }
+
+    public synchronized void removeRecipe(String name) {
+        recipes.remove(name);
+        saveRecipes();
+    }
+
+    public synchronized void updateRecipe(String oldName, Recipe updatedRecipe) {
+        recipes.remove(oldName);
+        recipes.put(updatedRecipe.getName(), updatedRecipe);
+        saveRecipes();
+    }
+
+    /**
+     * Runs several changes as one unit of work; the recipes are saved once
+     * when the outermost batch ends, even if a change throws. Other threads
+     * wait for the batch to end before reading or changing recipes.
+     */
+    public synchronized void batch(Runnable changes) {
+        batchDepth++;
+        try {
+            changes.run();
+        } finally {
+            if (--batchDepth == 0 && batchChanged) {
+                batchChanged = false;
+                saveRecipes();
+            }
+        }
+    }
+
+    public synchronized Recipe getRecipe(String name) {
+        return recipes.get(name);
+    }
+
+    // A copy, so callers can iterate it while recipes change
+    public synchronized Set<String> getRecipeNames() {
+        return new HashSet<>(recipes.keySet());
+    }
+
+    public synchronized List<Recipe> getRecipesByCategory(String category) {
+        return recipes.values().stream()
+                .filter(recipe -> category.equals(recipe.getCategory()))
+                .sorted((r1, r2) -> r1.getName().compareToIgnoreCase(r2.getName()))
+                .toList();
+    }
+
+    public synchronized List<Recipe> searchRecipes(String searchTerm) {
+        String term = searchTerm.toLowerCase();
+        return recipes.values().stream()
+                .filter(recipe -> 
+                    recipe.getName().toLowerCase().contains(term) ||
+                    (recipe.getDescription() != null && recipe.getDescription().toLowerCase().contains(term)) ||
+                    recipe.getIngredients().stream().anyMatch(ing -> ing.getName().toLowerCase().contains(term)))
+                .toList();
+    }
+
+    public synchronized List<Recipe> getPopularRecipes(int limit) {
+        return recipes.values().stream()
+                .sorted((r1, r2) -> Integer.compare(r2.getTimesUsed(), r1.getTimesUsed()))
+                .limit(limit)
+                .toList();
+    }
+
+    public List<String> getCategories() {
+        return new ArrayList<>(categories);
+    }
+
+    public void addCategory(String category) {
+        if (!categories.contains(category)) {
+            categories.add(category);
+        }
+    }
+
+    // Debounced: a burst of edits outside a batch still ends in one write.
+    // Called with the lock held, so the snapshot is never taken mid-batch
+    private void saveRecipes() {
+        if (batchDepth > 0) {
+            batchChanged = true;
+            return;
+        }
+        Map<String, Recipe> snapshot = new HashMap<>(recipes);
+        PersistenceExecutor.shared().submitDelayed(this, () -> dataPersistence.saveRecipes(snapshot), AUTOSAVE_DELAY_MILLIS);
+    }
+
+    public synchronized Map<String, Recipe> getAllRecipes() {
+        return new HashMap<>(recipes);
+    }
+}
+
+// Validation utilities
+class ValidationUtils {
+    public static class ValidationResult {
+        private boolean valid;
+        private String errorMessage;
+
+        public ValidationResult(boolean valid, String errorMessage) {
+            this.valid = valid;
+            this.errorMessage = errorMessage;
+        }
+
+        public boolean isValid() { return valid; }
+        public String getErrorMessage() { return errorMessage; }
+    }
+
+    public static ValidationResult validateProduct(CoffeeProduct product) {
+        if (product.getName() == null || product.getName().trim().isEmpty()) {
+            return new ValidationResult(false, "Product name cannot be empty");
+        }
+        if (product.getTotalCost() < 0) {
+            return new ValidationResult(false, "Total cost cannot be negative");
+        }
+        if (product.getUnitSize() <= 0) {
+            return new ValidationResult(false, "Unit size must be positive");
+        }
+        if (product.getStock() < 0) {
+            return new ValidationResult(false, "Stock cannot be negative");
+        }
+        if (product.getMinStock() < 0) {
+            return new ValidationResult(false, "Minimum stock cannot be negative");
+        }
+        return new ValidationResult(true, null);
+    }
+
+    public static ValidationResult validateRecipe(Recipe recipe) {
+        if (recipe.getName() == null || recipe.getName().trim().isEmpty()) {
+            return new ValidationResult(false, "Recipe name cannot be empty");
+        }
+        if (recipe.getIngredients().isEmpty()) {
+            return new ValidationResult(false, "Recipe must have at least one ingredient");
+        }
+        for (RecipeIngredient ingredient : recipe.getIngredients()) {
+            if (ingredient.getName() == null || ingredient.getName().trim().isEmpty()) {
+                return new ValidationResult(false, "Ingredient name cannot be empty");
+            }
+            if (ingredient.getAmount() <= 0) {
+                return new ValidationResult(false, "Ingredient amount must be positive");
+            }
+        }
+        return new ValidationResult(true, null);
+    }
+
+    public static boolean isValidEmail(String email) {
+        return email != null && email.matches("^[A-Za-z0-9+_.-]+@(.+)$");
+    }
+
+    public static boolean isValidPhoneNumber(String phone) {
+        return phone != null && phone.matches("^[+]?[0-9\\s\\-()]{7,15}$");
+    }
+}
+
+// Backup and Export utilities
+/**
+ * Incremental backups. Each data file is stored once under objects/ by its
+ * SHA-256 hash, and a backup is only a manifest (manifests/backup_*.properties)
+ * mapping file names to hashes, so a backup of unchanged data costs one
+ * small file. Besides the catalog, recipes and settings, a backup holds the
+ * transaction files and the archived inventory change logs, so a restore
+ * can replay from it. Folders written by older versions are still listed.
+ */
+class BackupManager {
+    static final String[] DATA_FILES = {
+        "coffee_inventory.bin", "coffee_inventory.changes", "coffee_inventory.json",
+        "coffee_recipes.json", "app_settings.json",
+        "transactions.dat", "transactions.dat.journal", "transactions.mlog", "transactions.mlog.names"
+    };
+    // Backed up with every file in them: archived inventory change logs and the day segments
+    static final String[] DATA_DIRECTORIES = {"inventory_journal", "transactions"};
+    private static final String MANIFEST_SUFFIX = ".properties";
+
+    private DataPersistence dataPersistence;
+    private String backupDirectory;
+    private final File dataDirectory;
+    private final File objectsDirectory;
+    private final File manifestsDirectory;
+
+    public BackupManager(String backupDirectory) {
+        this(backupDirectory, StorageBackends.dataDirectory().getPath());
+    }
+
+    public BackupManager(String backupDirectory, String dataDirectory) {
+        this.dataPersistence = new DataPersistence();
+        this.backupDirectory = backupDirectory;
+        this.dataDirectory = new File(dataDirectory);
+        this.objectsDirectory = new File(backupDirectory, "objects");
+        this.manifestsDirectory = new File(backupDirectory, "manifests");
+        createBackupDirectory();
+    }
+
+    private void createBackupDirectory() {
+        File dir = new File(backupDirectory);
+        if (!dir.exists()) {
+            dir.mkdirs();
+        }
+        objectsDirectory.mkdirs();
+        manifestsDirectory.mkdirs();
+    }
+
+    /**
+     * Returns the name of the new backup, or the latest one if nothing
+     * changed since. The files are captured between two queued writes, so
+     * the backup is a consistent cut; the slow part, storing and hashing,
+     * runs on the calling thread. Never call it on the persistence writer.
+     */
+    public String createBackup() {
+        File staging = null;
+        try {
+            staging = Files.createTempDirectory(new File(backupDirectory).toPath(), "staging-").toFile();
+            File cut = staging;
+            Map<String, Long> lengths = new TreeMap<>();
+            PersistenceExecutor.shared().submit(cut, () -> lengths.putAll(captureFiles(cut))).get();
+            Map<String, String> hashes = new TreeMap<>();
+            for (Map.Entry<String, Long> entry : lengths.entrySet()) {
+                hashes.put(entry.getKey(), storeObject(new File(staging, entry.getKey()), entry.getValue()));
+            }
+            return writeManifest(hashes);
+        } catch (IOException | ExecutionException e) {
+            System.err.println("Error creating backup: " + e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            if (staging != null) deleteRecursively(staging);
+        }
+    }
+
+    /**
+     * Runs on the persistence writer, so no queued write is half done.
+     * Links every data file into the staging folder and notes its length:
+     * snapshots are replaced by rename and logs only grow, so the linked
+     * file's first length bytes stay as they are now. Copies the file
+     * where links are not supported.
+     */
+    private Map<String, Long> captureFiles(File staging) {
+        Map<String, Long> lengths = new TreeMap<>();
+        for (String name : dataFileNames()) {
+            File source = new File(dataDirectory, name);
+            File staged = new File(staging, name);
+            staged.getParentFile().mkdirs();
+            try {
+                try {
+                    Files.createLink(staged.toPath(), source.toPath());
+                } catch (IOException | UnsupportedOperationException e) {
+                    Files.copy(source.toPath(), staged.toPath());
+                }
+                lengths.put(name, staged.length());
+            } catch (IOException e) {
+                // Removed since it was listed, e.g. a change log archived meanwhile
+            }
+        }
+        return lengths;
+    }
+
+    // Data files that exist, relative to the data directory, with / between folder and file
+    List<String> dataFileNames() {
+        List<String> names = new ArrayList<>();
+        for (String name : DATA_FILES) {
+            if (new File(dataDirectory, name).isFile()) {
+                names.add(name);
+            }
+        }
+        for (String directory : DATA_DIRECTORIES) {
+            File[] files = new File(dataDirectory, directory).listFiles(f -> f.isFile() && !f.getName().endsWith(".tmp"));
+            if (files == null) continue;
+            Arrays.sort(files);
+            for (File file : files) {
+                names.add(directory + "/" + file.getName());
+            }
+        }
+        return names;
+    }
+
+    private String writeManifest(Map<String, String> hashes) throws IOException {
+        List<String> backups = getAvailableBackups();
+        if (!backups.isEmpty() && hashes.equals(readManifest(backups.get(0)))) {
+            return backups.get(0);
+        }
+
+        String backupName = "backup_" + LocalDateTime.now().toString().replaceAll(":", "-");
+        Properties manifest = new Properties();
+        manifest.putAll(hashes);
+        File tmp = new File(manifestsDirectory, backupName + MANIFEST_SUFFIX + ".tmp");
+        try (FileWriter writer = new FileWriter(tmp)) {
+            manifest.store(writer, "Backup manifest: file=sha256");
+        }
+        if (!tmp.renameTo(new File(manifestsDirectory, backupName + MANIFEST_SUFFIX))) {
+            throw new IOException("Could not write manifest for " + backupName);
+        }
+        return backupName;
+    }
+
+    /**
+     * Streams the files of a backup from the object store into one
+     * compressed zip archive. The archive is written under a temporary name
+     * and renamed when complete.
+     */
+    public void createArchive(String backupName, File archive) throws IOException {
+        File tmp = new File(archive.getPath() + ".tmp");
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            zip.setLevel(Deflater.BEST_SPEED);
+            for (Map.Entry<String, String> entry : readManifest(backupName).entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                Files.copy(objectFile(entry.getValue()).toPath(), zip);
+                zip.closeEntry();
+            }
+        }
+        if (!tmp.renameTo(archive)) {
+            tmp.delete();
+            throw new IOException("Could not write archive " + archive);
+        }
+    }
+
+    // Drops a manifest backup; its objects go with the next pruneObjects
+    public void deleteBackup(String backupName) {
+        File manifest = new File(manifestsDirectory, backupName + MANIFEST_SUFFIX);
+        if (manifest.exists() && !manifest.delete()) {
+            System.err.println("Could not prune backup " + backupName);
+        }
+    }
+
+    // Deletes stored objects that no manifest refers to any more
+    public void pruneObjects() throws IOException {
+        Set<String> referenced = new HashSet<>();
+        for (String backup : getAvailableBackups()) {
+            referenced.addAll(readManifest(backup).values());
+        }
+        File[] prefixes = objectsDirectory.listFiles(File::isDirectory);
+        if (prefixes == null) return;
+        for (File prefix : prefixes) {
+            File[] objects = prefix.listFiles();
+            if (objects == null) continue;
+            for (File object : objects) {
+                if (!referenced.contains(prefix.getName() + object.getName())) {
+                    object.delete();
+                }
+            }
+        }
+    }
+
+    // File name -> content hash for a manifest backup; empty for legacy folders
+    Map<String, String> readManifest(String backupName) throws IOException {
+        Map<String, String> hashes = new TreeMap<>();
+        File file = new File(manifestsDirectory, backupName + MANIFEST_SUFFIX);
+        if (!file.exists()) return hashes;
+        Properties manifest = new Properties();
+        try (FileReader reader = new FileReader(file)) {
+            manifest.load(reader);
+        }
+        for (String name : manifest.stringPropertyNames()) {
+            hashes.put(name, manifest.getProperty(name));
+        }
+        return hashes;
+    }
+
+    // Copies the files of a backup into the target directory
+    public void restoreBackup(String backupName, File targetDirectory) throws IOException {
+        restoreBackup(backupName, targetDirectory, name -> true);
+    }
+
+    // Copies the files of a backup whose names pass the filter
+    public void restoreBackup(String backupName, File targetDirectory, Predicate<String> filter) throws IOException {
+        File legacy = new File(backupDirectory, backupName);
+        if (legacy.isDirectory()) {
+            File[] files = legacy.listFiles(File::isFile);
+            if (files != null) {
+                for (File file : files) {
+                    if (!filter.test(file.getName())) continue;
+                    copyFile(file, new File(targetDirectory, file.getName()), file.length());
+                }
+            }
+            return;
+        }
+        Map<String, String> hashes = readManifest(backupName);
+        if (hashes.isEmpty()) {
+            throw new IOException("Unknown backup " + backupName);
+        }
+        for (Map.Entry<String, String> entry : hashes.entrySet()) {
+            if (!filter.test(entry.getKey())) continue;
+            File target = new File(targetDirectory, entry.getKey());
+            target.getParentFile().mkdirs();
+            File object = objectFile(entry.getValue());
+            copyFile(object, target, object.length());
+        }
+    }
+
+    /**
+     * Stores the first length bytes of the file under their hash unless that
+     * content is already present. The bytes are copied out first and the
+     * copy is hashed, so a write to the file meanwhile cannot store content
+     * under a hash that does not match it.
+     */
+    private String storeObject(File source, long length) throws IOException {
+        File tmp = File.createTempFile("incoming-", ".tmp", objectsDirectory);
+        try {
+            copyFile(source, tmp, length);
+            String hash = sha256(tmp);
+            File object = objectFile(hash);
+            if (!object.exists()) {
+                object.getParentFile().mkdirs();
+                if (!tmp.renameTo(object) && !object.exists()) {
+                    throw new IOException("Could not store backup object " + hash);
+                }
+            }
+            return hash;
+        } finally {
+            tmp.delete();
+        }
+    }
+
+    File objectFile(String hash) {
+        return new File(new File(objectsDirectory, hash.substring(0, 2)), hash.substring(2));
+    }
+
+    private static String sha256(File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    // Channel-to-channel copy of the first length bytes; the kernel moves the bytes where it can
+    private static void copyFile(File source, File destination, long length) throws IOException {
+        try (FileChannel in = FileChannel.open(source.toPath(), StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(destination.toPath(), StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = Math.min(length, in.size());
+            long position = 0;
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+
+    // Time a backup was taken, from its name (backup_2025-03-01T14-05-09.123)
+    static LocalDateTime backupTime(String backupName) {
+        String stamp = backupName.substring("backup_".length());
+        int t = stamp.indexOf('T');
+        return LocalDateTime.parse(stamp.substring(0, t + 1) + stamp.substring(t + 1).replace('-', ':'));
+    }
+
+    // Most recent first; manifest backups and legacy backup_ folders
+    public List<String> getAvailableBackups() {
+        List<String> backups = new ArrayList<>();
+        File[] manifests = manifestsDirectory.listFiles((dir, name) -> name.endsWith(MANIFEST_SUFFIX));
+        if (manifests != null) {
+            for (File manifest : manifests) {
+                String name = manifest.getName();
+                backups.add(name.substring(0, name.length() - MANIFEST_SUFFIX.length()));
+            }
+        }
+
+        File backupDir = new File(backupDirectory);
+        File[] backupFolders = backupDir.listFiles(File::isDirectory);
+        if (backupFolders != null) {
+            for (File folder : backupFolders) {
+                if (folder.getName().startsWith("backup_")) {
+                    backups.add(folder.getName());
+                }
+            }
+        }
+        
+        backups.sort(Collections.reverseOrder()); // Most recent first
+        return backups;
+    }
+}
+
+// Usage Analytics
+class UsageAnalytics {
+    private Map<String, Integer> recipeUsageCount;
+    private Map<String, Double> ingredientUsageAmount;
+    private LocalDateTime lastReset;
+
+    public UsageAnalytics() {
+        this.recipeUsageCount = new HashMap<>();
+        this.ingredientUsageAmount = new HashMap<>();
+        this.lastReset = LocalDateTime.now();
+    }
+
+    public void recordRecipeUsage(String recipeName) {
+        recipeUsageCount.merge(recipeName, 1, Integer::sum);
+    }
+
+    public void recordIngredientUsage(String ingredientName, double amount) {
+        ingredientUsageAmount.merge(ingredientName, amount, Double::sum);
+    }
+
+    public Map<String, Integer> getRecipeUsageCount() {
+        return new HashMap<>(recipeUsageCount);
+    }
+
+    public Map<String, Double> getIngredientUsageAmount() {
+        return new HashMap<>(ingredientUsageAmount);
+    }
+
+    public List<Map.Entry<String, Integer>> getTopRecipes(int limit) {
+        return recipeUsageCount.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public void resetAnalytics() {
+        recipeUsageCount.clear();
+        ingredientUsageAmount.clear();
+        lastReset = LocalDateTime.now();
+    }
+
+    public LocalDateTime getLastReset() {
+        return lastReset;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the pretty-printed reflection path of DataPersistence with the
+ * streaming JSON path and the binary inventory snapshot.
+ * Run with optional arguments: [products] [recipes] [rounds]
+ */
+public class DataPersistenceBenchmark {
+    public static void main(String[] args) throws Exception {
+        int productCount = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int recipeCount = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        List<CoffeeProduct> products = sampleProducts(productCount);
+        Map<String, Recipe> recipes = sampleRecipes(recipeCount);
+
+        System.out.printf("Catalog: %d products, %d recipes, best of %d rounds%n", productCount, recipeCount, rounds);
+        run("reflection (pretty)", false, false, products, recipes, rounds);
+        run("streaming (compact)", true, false, products, recipes, rounds);
+        run("binary snapshot", true, true, products, recipes, rounds);
+    }
+
+    private static void run(String label, boolean streaming, boolean binary, List<CoffeeProduct> products,
+                            Map<String, Recipe> recipes, int rounds) throws Exception {
+        File dir = Files.createTempDirectory("cbm-bench").toFile();
+        DataPersistence persistence = new DataPersistence(dir.getPath(), streaming, binary);
+        long bestSave = Long.MAX_VALUE, bestLoad = Long.MAX_VALUE;
+
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            persistence.saveInventory(products);
+            persistence.saveRecipes(recipes);
+            bestSave = Math.min(bestSave, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            int loaded = persistence.loadInventory().size() + persistence.loadRecipes().size();
+            bestLoad = Math.min(bestLoad, System.nanoTime() - start);
+            if (loaded != products.size() + recipes.size()) {
+                throw new IllegalStateException(label + " round-trip lost records");
+            }
+        }
+
+        String inventoryFile = binary ? "coffee_inventory.bin" : "coffee_inventory.json";
+        long bytes = new File(dir, inventoryFile).length() + new File(dir, "coffee_recipes.json").length();
+        System.out.printf("%-22s save %7.1f ms   load %7.1f ms   size %,d KB%n",
+                label, bestSave / 1e6, bestLoad / 1e6, bytes / 1024);
+
+        for (File f : dir.listFiles()) f.delete();
+        dir.delete();
+    }
+
+    private static List<CoffeeProduct> sampleProducts(int count) {
+        String[] categories = {"Coffee Beans", "Milk Products", "Syrups", "Pastries", "Equipment", "Other"};
+        String[] units = {"g", "ml", "kg", "L", "pcs", "bags"};
+        List<CoffeeProduct> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(new CoffeeProduct("Product " + i, categories[i % categories.length],
+                    1000 + i, 250, units[i % units.length], 40 + i % 60, 10, null));
+        }
+        return products;
+    }
+
+    private static Map<String, Recipe> sampleRecipes(int count) {
+        Map<String, Recipe> recipes = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            Recipe recipe = new Recipe("Recipe " + i, "Hot Drinks");
+            recipe.setDescription("Benchmark recipe " + i);
+            recipe.addIngredient(new RecipeIngredient("Milk", 200, "ml"));
+            recipe.addIngredient(new RecipeIngredient("Espresso", 30, "ml"));
+            recipe.addIngredient(new RecipeIngredient("Sugar", 5, "g", true));
+            recipes.put(recipe.getName(), recipe);
+        }
+        return recipes;
+    }
+}
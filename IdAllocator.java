@@ -0,0 +1,92 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out unique, increasing ids from a leased block. Ids within the
+ * block come from an atomic counter, so threads never block each other or
+ * touch the disk. When the block runs out, the next one is leased by
+ * bumping the high-water mark in the sequence file under a file lock, so
+ * several tills sharing the data directory get disjoint blocks and a
+ * restart never reuses an id. Unused ids of a lease are skipped.
+ */
+public class IdAllocator {
+    private static final long DEFAULT_BLOCK_SIZE = 1000;
+
+    private final File file;
+    private final long blockSize;
+    private final AtomicLong next = new AtomicLong();
+    private volatile long leaseEnd;  // exclusive
+
+    public IdAllocator(File file) {
+        this(file, DEFAULT_BLOCK_SIZE);
+    }
+
+    public IdAllocator(File file, long blockSize) {
+        this.file = file;
+        this.blockSize = blockSize;
+    }
+
+    // The named sequence in the ids folder of a data directory, shared by every till using it
+    public static IdAllocator inDataDirectory(File dataDirectory, String sequence) {
+        return new IdAllocator(new File(new File(dataDirectory, "ids"), sequence + ".seq"));
+    }
+
+    public long nextId() {
+        while (true) {
+            long id = next.get();
+            if (id < leaseEnd) {
+                if (next.compareAndSet(id, id + 1)) return id;
+            } else {
+                leaseBlock(0);
+            }
+        }
+    }
+
+    // Makes sure later ids are above ids that already exist in stored data
+    public void advancePast(long existingId) {
+        if (existingId >= leaseEnd - 1) {
+            leaseBlock(existingId + 1);
+        }
+        long current;
+        while ((current = next.get()) <= existingId) {
+            if (next.compareAndSet(current, existingId + 1)) return;
+        }
+    }
+
+    private synchronized void leaseBlock(long minimumStart) {
+        if (next.get() < leaseEnd && minimumStart < leaseEnd) return;
+        file.getParentFile().mkdirs();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.lock();
+            try {
+                ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+                long highWater = 1;
+                if (channel.size() >= Long.BYTES && channel.read(buffer, 0) == Long.BYTES) {
+                    highWater = buffer.getLong(0);
+                }
+                long start = Math.max(Math.max(highWater, minimumStart), leaseEnd);
+                long end = start + blockSize;
+                buffer.clear();
+                buffer.putLong(end).flip();
+                channel.write(buffer, 0);
+                channel.force(true);
+
+                // Publish the start before the end so no thread takes an id outside the lease
+                next.set(start);
+                leaseEnd = end;
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not lease ids from " + file, e);
+        }
+    }
+}
@@ -1,709 +1,1383 @@
-	package Micow.ProjectC.Micow_Cashier;
-
-import java.awt.*;
-import java.awt.dnd.DropTarget;
-import java.awt.event.*;
-import java.io.File;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-
-import javax.swing.*;
-import javax.swing.border.*;
-import javax.swing.table.*;
-
-class UIConstants {
-    public static final Color COFFEE_BROWN = new Color(101, 67, 33);
-    public static final Color LIGHT_COFFEE = new Color(205, 175, 149);
-    public static final Color CREAM = new Color(255, 248, 220);
-    public static final Color ACCENT_ORANGE = new Color(210, 105, 30);
-    public static final Color BUTTON_HOVER = new Color(255, 140, 0);
-    public static final Font TITLE_FONT = new Font("Arial", Font.BOLD, 24);
-    public static final Font TABLE_FONT = new Font("Arial", Font.PLAIN, 12);
-    public static final Font HEADER_FONT = new Font("Arial", Font.BOLD, 14);
-    public static final int[] COLUMN_WIDTHS = {80, 150, 100, 100, 100, 80, 100, 80};
-}
-
-class InventoryManager {
-    private List<CoffeeProduct> products;
-    private DataPersistence dataPersistence;
-
-    public InventoryManager() {
-        products = new ArrayList<>();
-        try {
-            dataPersistence = new DataPersistence();
-            loadInventory();
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(null, "Error initializing DataPersistence: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-
-    public void addProduct(CoffeeProduct product) {
-        products.add(product);
-        saveInventory();
-    }
-
-    public void removeProduct(int index) {
-        products.remove(index);
-        saveInventory();
-    }
-
-    public void updateProduct(int index, CoffeeProduct updatedProduct) {
-        products.set(index, updatedProduct);
-        saveInventory();
-    }
-
-    public void saveInventory() {
-        try {
-            dataPersistence.saveInventory(products);
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(null, "Error saving inventory: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-
-    public void loadInventory() {
-        try {
-            List<CoffeeProduct> loadedProducts = dataPersistence.loadInventory();
-            if (loadedProducts != null) {
-                products.clear();
-                products.addAll(loadedProducts);
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(null, "Error loading inventory: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-
-    public double getTotalInventoryValue() {
-        return products.stream().mapToDouble(CoffeeProduct::getTotalCost).sum();
-    }
-
-    public long getLowStockCount() {
-        return products.stream().filter(p -> p.getStock() <= p.getMinStock()).count();
-    }
-
-    public List<CoffeeProduct> getProducts() {
-        return products;
-    }
-}
-
-public class Inventory extends JFrame {
-    private InventoryManager inventoryManager;
-    private DefaultTableModel tableModel;
-    private JTable table;
-    private JLabel totalValueLabel;
-    private JLabel lowStockWarningLabel;
-
-    public Inventory(InventoryManager inventoryManager) {
-        this.inventoryManager = inventoryManager;
-        initializeUI();
-        loadSampleData();
-    }
-
-    public Inventory() {
-        this(new InventoryManager());
-    }
-
-    private void initializeUI() {
-        setTitle("☕ Coffee Shop Inventory Tracker by Mico Abutin");
-        setSize(1218, 600);
-        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-        setLocationRelativeTo(null);
-        getContentPane().setBackground(UIConstants.CREAM);
-        JPanel headerPanel = createHeaderPanel();
-        createInventoryTable();
-        JPanel buttonPanel = createButtonPanel();
-        JPanel statusPanel = createStatusPanel();
-        getContentPane().setLayout(new BorderLayout(10, 10));
-        getContentPane().add(headerPanel, BorderLayout.NORTH);
-        getContentPane().add(new JScrollPane(table), BorderLayout.CENTER);
-        getContentPane().add(buttonPanel, BorderLayout.SOUTH);
-        getContentPane().add(statusPanel, BorderLayout.EAST);
-        ((JComponent) getContentPane()).setBorder(new EmptyBorder(15, 15, 15, 15));
-
-        // Set window icon
-        try {
-            ImageIcon icon = UIUtils.loadImageIcon(UIUtils.LOGO_PATH, 32, 32);
-            if (icon != null) {
-                setIconImage(icon.getImage());
-            }
-        } catch (Exception e) {
-            System.err.println("Error loading window icon: " + e.getMessage());
-        }
-    }
-
-    private JPanel createHeaderPanel() {
-        JPanel panel = new JPanel(new BorderLayout());
-        panel.setBackground(UIConstants.COFFEE_BROWN);
-        panel.setBorder(new EmptyBorder(15, 20, 15, 20));
-
-        // Logo
-        JLabel logoLabel = new JLabel();
-        ImageIcon logoIcon = UIUtils.loadImageIcon(UIUtils.LOGO_PATH, 50, 50);
-        if (logoIcon != null) {
-            logoLabel.setIcon(logoIcon);
-        } else {
-            logoLabel.setText("☕ Micow");
-            logoLabel.setFont(new Font("Arial", Font.BOLD, 20));
-            logoLabel.setForeground(Color.WHITE);
-        }
-        panel.add(logoLabel, BorderLayout.WEST);
-
-        // Title
-        JLabel titleLabel = new JLabel("Coffee Shop Inventory");
-        titleLabel.setFont(UIConstants.TITLE_FONT);
-        titleLabel.setForeground(Color.WHITE);
-        titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
-        panel.add(titleLabel, BorderLayout.CENTER);
-
-        // Date
-        JLabel dateLabel = new JLabel(LocalDateTime.now().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy")));
-        dateLabel.setFont(UIConstants.TABLE_FONT);
-        dateLabel.setForeground(UIConstants.LIGHT_COFFEE);
-        panel.add(dateLabel, BorderLayout.EAST);
-
-        return panel;
-    }
-
-    private void createInventoryTable() {
-        String[] columns = {"Image", "Product Name", "Category", "Total Cost", "Unit Size", "Stock Qty", "Cost/Unit", "Status"};
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public Class<?> getColumnClass(int column) {
-                if (column == 0) return ImageIcon.class;
-                return String.class;
-            }
-
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
-        table = new JTable(tableModel);
-        table.setRowHeight(70);
-        table.setBackground(Color.WHITE);
-        table.setGridColor(UIConstants.LIGHT_COFFEE);
-        table.setFont(UIConstants.TABLE_FONT);
-        table.setSelectionBackground(UIConstants.LIGHT_COFFEE);
-        table.setSelectionForeground(UIConstants.COFFEE_BROWN);
-        JTableHeader header = table.getTableHeader();
-        header.setBackground(UIConstants.COFFEE_BROWN);
-        header.setForeground(Color.BLACK);
-        header.setFont(UIConstants.HEADER_FONT);
-        for (int i = 0; i < columns.length; i++) {
-            table.getColumnModel().getColumn(i).setPreferredWidth(UIConstants.COLUMN_WIDTHS[i]);
-        }
-        table.getColumnModel().getColumn(7).setCellRenderer(new StatusCellRenderer());
-        table.addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                int row = table.getSelectedRow();
-                if (row >= 0 && e.getClickCount() == 2) {
-                    CoffeeProduct selected = inventoryManager.getProducts().get(row);
-                    showProductDetails(selected);
-                }
-            }
-        });
-    }
-    
-
-    private JPanel createButtonPanel() {
-        JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER, 5, 10));
-        panel.setBackground(UIConstants.CREAM);
-
-        JButton addButton = createStyledButton("Add Product", " + ");
-        JButton editButton = createStyledButton("Edit Product", "*");
-        JButton deleteButton = createStyledButton("Delete Product", "/");
-        JButton usageButton = createStyledButton("Record Usage", "'");
-        JButton restockButton = createStyledButton("Restock", "📦");
-        JButton ingredientUsageButton = createStyledButton("Ingredient Usage", "☕");
-        JButton returnButton = createStyledButton("Return", "↩️");
-
-        addButton.addActionListener(e -> new ProductDialog(this, "Add Coffee Product", null).setVisible(true));
-        editButton.addActionListener(e -> editSelectedProduct());
-        deleteButton.addActionListener(e -> deleteSelectedProduct());
-        usageButton.addActionListener(e -> showUsageDialog());
-        restockButton.addActionListener(e -> showRestockDialog());
-        ingredientUsageButton.addActionListener(e -> {
-            try {
-                System.out.println("Attempting to open IngredientUsageFrame at " + new java.util.Date());
-                SwingUtilities.invokeLater(() -> {
-                    try {
-                        IngredientUsageFrame frame = new IngredientUsageFrame(this, inventoryManager);
-                        frame.setVisible(true);
-                        System.out.println("IngredientUsageFrame opened successfully");
-                    } catch (Exception ex) {
-                        System.err.println("Error in invokeLater for IngredientUsageFrame: " + ex.getMessage());
-                        ex.printStackTrace();
-                        JOptionPane.showMessageDialog(this, "Error opening Ingredient Usage: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-                    }
-                });
-            } catch (Exception ex) {
-                System.err.println("Error opening IngredientUsageFrame: " + ex.getMessage());
-                ex.printStackTrace();
-                JOptionPane.showMessageDialog(this, "Error opening Ingredient Usage: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            }
-        });
-        returnButton.addActionListener(e -> onReturnButtonClicked());
-
-        panel.add(addButton);
-        panel.add(editButton);
-        panel.add(deleteButton);
-        panel.add(usageButton);
-        panel.add(restockButton);
-        panel.add(ingredientUsageButton);
-        panel.add(returnButton);
-
-        return panel;
-    }
-
-    private JButton createStyledButton(String text, String emoji) {
-        JButton button = new JButton(emoji + " " + text);
-        button.setBackground(UIConstants.COFFEE_BROWN);
-        button.setForeground(Color.WHITE);
-        button.setFont(UIConstants.HEADER_FONT);
-        button.setFocusPainted(false);
-        button.setBorder(new EmptyBorder(12, 24, 12, 24));
-        button.setOpaque(true);
-        button.setBorderPainted(false);
-        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
-        button.setPreferredSize(new Dimension(160, 40));
-        button.setUI(new javax.swing.plaf.basic.BasicButtonUI() {
-            @Override
-            protected void paintButtonPressed(Graphics g, AbstractButton b) {
-                g.setColor(UIConstants.ACCENT_ORANGE.darker());
-                g.fillRoundRect(0, 0, b.getWidth(), b.getHeight(), 20, 20);
-            }
-        });
-
-        button.setBorder(BorderFactory.createCompoundBorder(
-            BorderFactory.createLineBorder(new Color(0, 0, 0, 50), 1),
-            BorderFactory.createEmptyBorder(12, 24, 12, 24)
-        ));
-
-        button.addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseEntered(MouseEvent e) {
-                button.setBackground(UIConstants.BUTTON_HOVER);
-                button.setBorder(BorderFactory.createCompoundBorder(
-                    BorderFactory.createLineBorder(new Color(0, 0, 0, 100), 1),
-                    BorderFactory.createEmptyBorder(12, 24, 12, 24)
-                ));
-                button.setLocation(button.getX(), button.getY() - 2);
-            }
-
-            @Override
-            public void mouseExited(MouseEvent e) {
-                button.setBackground(UIConstants.COFFEE_BROWN);
-                button.setBorder(BorderFactory.createCompoundBorder(
-                    BorderFactory.createLineBorder(new Color(0, 0, 0, 50), 1),
-                    BorderFactory.createEmptyBorder(12, 24, 12, 24)
-                ));
-                button.setLocation(button.getX(), button.getY() + 2);
-            }
-        });
-
-        return button;
-    }
-
-    private JPanel createStatusPanel() {
-        JPanel panel = new JPanel();
-        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
-        panel.setBackground(UIConstants.CREAM);
-        panel.setBorder(BorderFactory.createTitledBorder(
-                BorderFactory.createLineBorder(UIConstants.COFFEE_BROWN, 2),
-                "Dashboard",
-                0, 0,
-                UIConstants.HEADER_FONT,
-                UIConstants.COFFEE_BROWN));
-        panel.setPreferredSize(new Dimension(200, 0));
-        totalValueLabel = new JLabel("Total Inventory: ₱0.00");
-        lowStockWarningLabel = new JLabel("Low Stock Items: 0");
-        JLabel[] labels = {totalValueLabel, lowStockWarningLabel};
-        for (JLabel label : labels) {
-            label.setFont(UIConstants.TABLE_FONT);
-            label.setBorder(new EmptyBorder(5, 10, 5, 10));
-            panel.add(label);
-        }
-        return panel;
-    }
-
-    private class ProductDialog extends JDialog {
-        private JTextField nameField;
-        private JComboBox<String> categoryBox;
-        private JTextField costField;
-        private JTextField unitSizeField;
-        private JComboBox<String> unitBox;
-        private JTextField stockField;
-        private JTextField minStockField;
-        private JLabel imageLabel;
-        private String selectedImagePath;
-
-        public ProductDialog(Frame parent, String title, CoffeeProduct product) {
-            super(parent, title, true);
-            setSize(500, 600);
-            setLocationRelativeTo(parent);
-            buildUI(product);
-        }
-        
-        
-
-        private void buildUI(CoffeeProduct product) {
-            JPanel mainPanel = new JPanel(new GridBagLayout());
-            GridBagConstraints gbc = new GridBagConstraints();
-            gbc.insets = new Insets(5, 5, 5, 5);
-            gbc.fill = GridBagConstraints.HORIZONTAL;
-
-            nameField = new JTextField(product != null ? product.getName() : "", 20);
-            String[] categories = {"Coffee Beans", "Milk Products", "Syrups", "Pastries", "Equipment", "Other"};
-            categoryBox = new JComboBox<>(categories);
-            if (product != null) categoryBox.setSelectedItem(product.getCategory());
-            costField = new JTextField(product != null ? String.valueOf(product.getTotalCost()) : "", 20);
-            unitSizeField = new JTextField(product != null ? String.valueOf(product.getUnitSize()) : "", 20);
-            String[] units = {"g", "ml", "kg", "L", "pcs", "bags"};
-            unitBox = new JComboBox<>(units);
-            if (product != null) unitBox.setSelectedItem(product.getUnit());
-            stockField = new JTextField(product != null ? String.valueOf(product.getStock()) : "", 20);
-            minStockField = new JTextField(product != null ? String.valueOf(product.getMinStock()) : "", 20);
-
-            imageLabel = new JLabel("Drop image here or click to browse", SwingConstants.CENTER);
-            imageLabel.setPreferredSize(new Dimension(200, 150));
-            imageLabel.setBorder(BorderFactory.createDashedBorder(UIConstants.COFFEE_BROWN, 2, 5, 5, true));
-            imageLabel.setBackground(Color.WHITE);
-            imageLabel.setOpaque(true);
-            selectedImagePath = product != null ? product.getImagePath() : null;
-            if (selectedImagePath != null) setImagePreview(imageLabel, selectedImagePath);
-
-            new DropTarget(imageLabel, new java.awt.dnd.DropTargetAdapter() {
-                @Override
-                public void drop(java.awt.dnd.DropTargetDropEvent dtde) {
-                    try {
-                        dtde.acceptDrop(java.awt.dnd.DnDConstants.ACTION_COPY);
-                        List<File> droppedFiles = (List<File>) dtde.getTransferable()
-                                .getTransferData(java.awt.datatransfer.DataFlavor.javaFileListFlavor);
-                        if (!droppedFiles.isEmpty()) {
-                            File file = droppedFiles.get(0);
-                            if (isImageFile(file)) {
-                                selectedImagePath = file.getAbsolutePath();
-                                setImagePreview(imageLabel, selectedImagePath);
-                            } else {
-                                JOptionPane.showMessageDialog(ProductDialog.this, "Please select an image file!");
-                            }
-                        }
-                    } catch (Exception ex) {
-                        JOptionPane.showMessageDialog(ProductDialog.this, "Error loading image!");
-                        ex.printStackTrace();
-                    }
-                }
-            });
-
-            imageLabel.addMouseListener(new MouseAdapter() {
-                @Override
-                public void mouseClicked(MouseEvent e) {
-                    JFileChooser fileChooser = new JFileChooser();
-                    fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter(
-                            "Image files", "jpg", "jpeg", "png", "gif"));
-                    if (fileChooser.showOpenDialog(ProductDialog.this) == JFileChooser.APPROVE_OPTION) {
-                        selectedImagePath = fileChooser.getSelectedFile().getAbsolutePath();
-                        setImagePreview(imageLabel, selectedImagePath);
-                    }
-                }
-            });
-
-            gbc.gridx = 0; gbc.gridy = 0;
-            mainPanel.add(new JLabel("Product Name:"), gbc);
-            gbc.gridx = 1;
-            mainPanel.add(nameField, gbc);
-            gbc.gridx = 0; gbc.gridy = 1;
-            mainPanel.add(new JLabel("Category:"), gbc);
-            gbc.gridx = 1;
-            mainPanel.add(categoryBox, gbc);
-            gbc.gridx = 0; gbc.gridy = 2;
-            mainPanel.add(new JLabel("Total Cost (₱):"), gbc);
-            gbc.gridx = 1;
-            mainPanel.add(costField, gbc);
-            gbc.gridx = 0; gbc.gridy = 3;
-            mainPanel.add(new JLabel("Unit Size:"), gbc);
-            gbc.gridx = 1;
-            mainPanel.add(unitSizeField, gbc);
-            gbc.gridx = 0; gbc.gridy = 4;
-            mainPanel.add(new JLabel("Unit:"), gbc);
-            gbc.gridx = 1;
-            mainPanel.add(unitBox, gbc);
-            gbc.gridx = 0; gbc.gridy = 5;
-            mainPanel.add(new JLabel("Stock Quantity:"), gbc);
-            gbc.gridx = 1;
-            mainPanel.add(stockField, gbc);
-            gbc.gridx = 0; gbc.gridy = 6;
-            mainPanel.add(new JLabel("Min Stock Level:"), gbc);
-            gbc.gridx = 1;
-            mainPanel.add(minStockField, gbc);
-            gbc.gridx = 0; gbc.gridy = 7;
-            gbc.gridwidth = 2;
-            mainPanel.add(new JLabel("Product Image:"), gbc);
-            gbc.gridy = 8;
-            mainPanel.add(imageLabel, gbc);
-
-            JPanel buttonPanel = new JPanel();
-            JButton saveButton = new JButton("Save Product");
-            JButton cancelButton = new JButton("Cancel");
-            saveButton.addActionListener(e -> saveProduct(product));
-            cancelButton.addActionListener(e -> dispose());
-            buttonPanel.add(saveButton);
-            buttonPanel.add(cancelButton);
-            gbc.gridy = 9;
-            mainPanel.add(buttonPanel, gbc);
-
-            add(mainPanel);
-        }
-
-        private void saveProduct(CoffeeProduct product) {
-            try {
-                String name = nameField.getText().trim();
-                double cost = Double.parseDouble(costField.getText());
-                double unitSize = Double.parseDouble(unitSizeField.getText());
-                double stock = Double.parseDouble(stockField.getText());
-                double minStock = Double.parseDouble(minStockField.getText());
-
-                if (name.isEmpty()) {
-                    JOptionPane.showMessageDialog(this, "Please enter a product name!");
-                    return;
-                }
-                if (cost < 0 || unitSize <= 0 || stock < 0 || minStock < 0) {
-                    JOptionPane.showMessageDialog(this, "Values cannot be negative or zero (except stock)!");
-                    return;
-                }
-                if (minStock > stock) {
-                    JOptionPane.showMessageDialog(this, "Minimum stock cannot exceed current stock!");
-                    return;
-                }
-
-                CoffeeProduct newProduct = new CoffeeProduct(name, (String) categoryBox.getSelectedItem(),
-                        cost, unitSize, (String) unitBox.getSelectedItem(), stock, minStock, selectedImagePath);
-                if (product == null) {
-                    inventoryManager.addProduct(newProduct);
-                } else {
-                    int index = inventoryManager.getProducts().indexOf(product);
-                    inventoryManager.updateProduct(index, newProduct);
-                }
-                refreshTable();
-                updateDashboard();
-                dispose();
-                JOptionPane.showMessageDialog(Inventory.this, "Product saved successfully!");
-            } catch (NumberFormatException ex) {
-                JOptionPane.showMessageDialog(this, "Please enter valid numbers!");
-                ex.printStackTrace();
-            }
-        }
-    }
-
-    private void editSelectedProduct() {
-        int selectedRow = table.getSelectedRow();
-        if (selectedRow < 0) {
-            JOptionPane.showMessageDialog(this, "Please select a product to edit!");
-            return;
-        }
-        CoffeeProduct product = inventoryManager.getProducts().get(selectedRow);
-        new ProductDialog(this, "Edit Coffee Product", product).setVisible(true);
-    }
-
-    private void deleteSelectedProduct() {
-        int selectedRow = table.getSelectedRow();
-        if (selectedRow < 0) {
-            JOptionPane.showMessageDialog(this, "Please select a product to delete!");
-            return;
-        }
-        int result = JOptionPane.showConfirmDialog(this,
-                "Are you sure you want to delete this product?",
-                "Confirm Delete",
-                JOptionPane.YES_NO_OPTION);
-        if (result == JOptionPane.YES_OPTION) {
-            inventoryManager.removeProduct(selectedRow);
-            refreshTable();
-            updateDashboard();
-        }
-    }
-
-    private void showUsageDialog() {
-        int selectedRow = table.getSelectedRow();
-        if (selectedRow < 0) {
-            JOptionPane.showMessageDialog(this, "Please select a product to record usage!");
-            return;
-        }
-        CoffeeProduct product = inventoryManager.getProducts().get(selectedRow);
-        String usage = JOptionPane.showInputDialog(this,
-                "Enter quantity used for " + product.getName() + " (in " + product.getUnit() + "):");
-        try {
-            double usageAmount = Double.parseDouble(usage);
-            if (usageAmount < 0) {
-                JOptionPane.showMessageDialog(this, "Usage quantity cannot be negative!");
-                return;
-            }
-            product.reduceStock(usageAmount);
-            refreshTable();
-            updateDashboard();
-        } catch (NumberFormatException ex) {
-            JOptionPane.showMessageDialog(this, "Please enter a valid number!");
-            ex.printStackTrace();
-        }
-    }
-
-    private void showRestockDialog() {
-        int selectedRow = table.getSelectedRow();
-        if (selectedRow < 0) {
-            JOptionPane.showMessageDialog(this, "Please select a product to restock!");
-            return;
-        }
-        CoffeeProduct product = inventoryManager.getProducts().get(selectedRow);
-        String restock = JOptionPane.showInputDialog(this,
-                "Enter restock quantity for " + product.getName() + " (in " + product.getUnit() + "):");
-        try {
-            double restockAmount = Double.parseDouble(restock);
-            if (restockAmount < 0) {
-                JOptionPane.showMessageDialog(this, "Restock quantity cannot be negative!");
-                return;
-            }
-            String costStr = JOptionPane.showInputDialog(this,
-                    "Enter cost for the restocked amount (₱):");
-            double addedCost = Double.parseDouble(costStr);
-            if (addedCost < 0) {
-                JOptionPane.showMessageDialog(this, "Cost cannot be negative!");
-                return;
-            }
-            product.addStock(restockAmount, addedCost);
-            refreshTable();
-            updateDashboard();
-        } catch (NumberFormatException ex) {
-            JOptionPane.showMessageDialog(this, "Please enter a valid number!");
-            ex.printStackTrace();
-        }
-    }
-
-    private void showProductDetails(CoffeeProduct product) {
-        JDialog dialog = new JDialog(this, product.getName() + " - Details", true);
-        dialog.setSize(400, 500);
-        dialog.setLocationRelativeTo(this);
-        JPanel panel = new JPanel(new BorderLayout());
-        if (product.getImagePath() != null) {
-            ImageIcon icon = new ImageIcon(product.getImagePath());
-            Image scaled = icon.getImage().getScaledInstance(300, 200, Image.SCALE_SMOOTH);
-            JLabel imageLabel = new JLabel(new ImageIcon(scaled));
-            panel.add(imageLabel, BorderLayout.NORTH);
-        }
-        StringBuilder details = new StringBuilder("<html><body style='padding: 10px; font-family: Arial;'>");
-        details.append("<h3>").append(product.getName()).append("</h3>");
-        details.append("<p><b>Category:</b> ").append(product.getCategory()).append("</p>");
-        details.append("<p><b>Total Cost:</b> ₱").append(String.format("%.2f", product.getTotalCost())).append("</p>");
-        details.append("<p><b>Unit Size:</b> ").append(product.getUnitSize()).append(" ").append(product.getUnit()).append("</p>");
-        details.append("<p><b>Stock:</b> ").append(String.format("%.2f", product.getStock())).append("</p>");
-        details.append("<p><b>Min Stock:</b> ").append(String.format("%.2f", product.getMinStock())).append("</p>");
-        details.append("<p><b>Cost per Unit:</b> ₱").append(String.format("%.2f", product.getCostPerUnit())).append("</p>");
-        details.append("<p><b>Status:</b> ").append(product.getStockStatus()).append("</p>");
-        details.append("</body></html>");
-        JLabel detailsLabel = new JLabel(details.toString());
-        panel.add(detailsLabel, BorderLayout.CENTER);
-        dialog.getContentPane().add(panel);
-        dialog.setVisible(true);
-    }
-
-    public void refreshTable() {
-        tableModel.setRowCount(0);
-        for (CoffeeProduct product : inventoryManager.getProducts()) {
-            ImageIcon icon = null;
-            if (product.getImagePath() != null && new File(product.getImagePath()).exists()) {
-                ImageIcon originalIcon = new ImageIcon(product.getImagePath());
-                Image scaledImage = originalIcon.getImage().getScaledInstance(60, 60, Image.SCALE_SMOOTH);
-                icon = new ImageIcon(scaledImage);
-            }
-            tableModel.addRow(new Object[]{
-                    icon,
-                    product.getName(),
-                    product.getCategory(),
-                    "₱" + String.format("%.2f", product.getTotalCost()),
-                    product.getUnitSize() + " " + product.getUnit(),
-                    String.format("%.2f", product.getStock()),
-                    "₱" + String.format("%.2f", product.getCostPerUnit()),
-                    product.getStockStatus()
-            });
-        }
-    }
-
-    void updateDashboard() {
-        double totalValue = inventoryManager.getTotalInventoryValue();
-        long lowStockCount = inventoryManager.getLowStockCount();
-        totalValueLabel.setText("Total Inventory: ₱" + String.format("%.2f", totalValue));
-        lowStockWarningLabel.setText("Low Stock Items: " + lowStockCount);
-        lowStockWarningLabel.setForeground(lowStockCount > 0 ? Color.RED : Color.BLACK);
-    }
-
-    private void setImagePreview(JLabel label, String imagePath) {
-        if (imagePath != null && new File(imagePath).exists()) {
-            ImageIcon icon = new ImageIcon(imagePath);
-            Image scaled = icon.getImage().getScaledInstance(200, 150, Image.SCALE_SMOOTH);
-            label.setText("");
-            label.setIcon(new ImageIcon(scaled));
-        }
-    }
-
-    private void onReturnButtonClicked() {
-        this.dispose();
-    }
-
-    private boolean isImageFile(File file) {
-        String name = file.getName().toLowerCase();
-        return name.endsWith(".jpg") || name.endsWith(".jpeg") ||
-                name.endsWith(".png") || name.endsWith(".gif");
-    }
-
-    private void loadSampleData() {
-        refreshTable();
-        updateDashboard();
-    }
-
-    private class StatusCellRenderer extends DefaultTableCellRenderer {
-        @Override
-        public Component getTableCellRendererComponent(JTable table, Object value,
-                                                      boolean isSelected, boolean hasFocus, int row, int column) {
-            Component c = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-            if (!isSelected) {
-                String status = value.toString();
-                switch (status) {
-                    case "Low Stock":
-                        c.setBackground(new Color(255, 200, 200));
-                        c.setForeground(Color.RED);
-                        break;
-                    case "Out of Stock":
-                        c.setBackground(new Color(255, 150, 150));
-                        c.setForeground(Color.RED);
-                        break;
-                    case "In Stock":
-                        c.setBackground(new Color(200, 255, 200));
-                        c.setForeground(new Color(0, 120, 0));
-                        break;
-                    default:
-                        c.setBackground(Color.WHITE);
-                        c.setForeground(Color.BLACK);
-                }
-            }
-            setHorizontalAlignment(SwingConstants.CENTER);
-            return c;
-        }
-    }
-
-    public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> {
-            try {
-                UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
-                new Inventory().setVisible(true);
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(null, "Error initializing UI: " + e.getMessage());
-                e.printStackTrace();
-            }
-        });
-    }
-}
-
+	package Micow.ProjectC.Micow_Cashier;
+
+import java.awt.*;
+import java.awt.dnd.DropTarget;
+import java.awt.event.*;
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.*;
+import javax.swing.border.*;
+import javax.swing.table.*;
+
+class UIConstants {
+    public static final Color COFFEE_BROWN = new Color(101, 67, 33);
+    public static final Color LIGHT_COFFEE = new Color(205, 175, 149);
+    public static final Color CREAM = new Color(255, 248, 220);
+    public static final Color ACCENT_ORANGE = new Color(210, 105, 30);
+    public static final Color BUTTON_HOVER = new Color(255, 140, 0);
+    public static final Font TITLE_FONT = new Font("Arial", Font.BOLD, 24);
+    public static final Font TABLE_FONT = new Font("Arial", Font.PLAIN, 12);
+    public static final Font HEADER_FONT = new Font("Arial", Font.BOLD, 14);
+    public static final int[] COLUMN_WIDTHS = {80, 150, 100, 100, 100, 80, 100, 80};
+}
+
+/**
+ * The product catalog. The list is copy-on-write, so the dashboard, the
+ * POS and the persistence writer iterate a stable snapshot while products
+ * are added or removed. Changes to the membership and the name index are
+ * serialized on the manager; stock changes only lock the product itself.
+ */
+class InventoryManager {
+    // Change-log records allowed before the next save writes a full snapshot
+    private static final int SNAPSHOT_THRESHOLD = 500;
+    // Wait before writing changes again after the store rejected them
+    private static final long RETRY_MILLIS = 2000;
+
+    private final List<CoffeeProduct> products = new CopyOnWriteArrayList<>();
+    private InventoryStore dataPersistence;
+    private final Map<String, Long> removedNames = new LinkedHashMap<>();  // name -> time removed; guarded by this
+    private final IdAllocator productIds;
+    // Normalized name -> product; the first product wins if two names differ only in case
+    private final Map<String, CoffeeProduct> nameIndex = new ConcurrentHashMap<>();
+    // Dashboard totals, updated by every product in the catalog as it changes
+    private final InventoryAggregates aggregates = new InventoryAggregates();
+    // Stock, cost and sizes of every product in the catalog, one column each
+    private final ProductColumns columns = new ProductColumns();
+    private final List<StockAlertListener> alertListeners = new CopyOnWriteArrayList<>();
+    // Alerts leave the product's lock through this one thread, so they keep their order
+    private static final ExecutorService ALERTS = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "stock-alerts");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final CoffeeProduct.StockListener stockListener = (product, before, after) -> {
+        aggregates.changed(before, after);
+        StockLevel previous = StockLevel.of(before);
+        StockLevel current = StockLevel.of(after);
+        if (previous != current) {
+            fireStockLevelChanged(product, previous, current);
+        }
+    };
+
+    // Queued for the persistence thread; guarded by pendingChanges
+    private final Map<String, CoffeeProduct> pendingChanges = new LinkedHashMap<>();
+    private final Map<String, Long> pendingRemovals = new LinkedHashMap<>();
+    private List<CoffeeProduct> pendingSnapshot;
+    private List<CoffeeProduct> pendingRestore;
+
+    public InventoryManager() {
+        this(null);
+    }
+
+    // null selects the backend configured in the app settings
+    public InventoryManager(InventoryStore store) {
+        dataPersistence = store != null ? store : StorageBackends.inventoryStore();
+        productIds = IdAllocator.inDataDirectory(dataPersistence.getDataDirectory(), "product");
+        try {
+            loadInventory();
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(null, "Error initializing DataPersistence: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    public synchronized void addProduct(CoffeeProduct product) {
+        if (product.getId() <= 0) {
+            product.setId(productIds.nextId());
+        }
+        product.markDirty();
+        products.add(product);
+        track(product);
+        nameIndex.putIfAbsent(normalizeName(product.getName()), product);
+        saveInventory();
+    }
+
+    public int importProducts(List<CoffeeProduct> imported) {
+        return importProducts(imported, false);
+    }
+
+    /**
+     * Adds or updates many products at once, matching existing ones by name,
+     * and saves once at the end. Imported ids are ignored; new products get
+     * ids from this till. Existing products take only the catalog fields:
+     * category, unit, unit size, minimum stock, image and the cost per unit
+     * implied by the file. Their stock on hand is kept unless replaceStock
+     * is set, in which case stock and total cost are taken from the file.
+     * Returns the number of products added.
+     */
+    public synchronized int importProducts(List<CoffeeProduct> imported, boolean replaceStock) {
+        List<CoffeeProduct> additions = new ArrayList<>();
+        for (CoffeeProduct incoming : imported) {
+            CoffeeProduct existing = findProduct(incoming.getName());
+            if (existing == null) {
+                incoming.setId(productIds.nextId());
+                incoming.markDirty();
+                additions.add(incoming);
+                nameIndex.put(normalizeName(incoming.getName()), incoming);
+                continue;
+            }
+            if (incoming.getCategory() != null) existing.setCategory(incoming.getCategory());
+            if (incoming.getUnit() != null) existing.setUnit(incoming.getUnit());
+            if (incoming.getImagePath() != null) existing.setImagePath(incoming.getImagePath());
+            existing.setUnitSize(incoming.getUnitSize());
+            existing.setMinStock(incoming.getMinStock());
+            if (replaceStock) {
+                existing.setStock(incoming.getStock());
+                existing.setTotalCost(incoming.getTotalCost());
+            } else if (incoming.getStock() > 0) {
+                // A price list gives cost per unit; value the stock on hand at it
+                existing.setTotalCost(existing.getStock() * incoming.getCostPerUnit());
+            }
+        }
+        // One copy of the list for the whole import
+        products.addAll(additions);
+        additions.forEach(this::track);
+        saveInventory();
+        return additions.size();
+    }
+
+    public synchronized void removeProduct(int index) {
+        CoffeeProduct removed = products.remove(index);
+        removedNames.put(removed.getName(), System.currentTimeMillis());
+        untrack(removed);
+        unindex(removed);
+        saveInventory();
+    }
+
+    public synchronized void updateProduct(int index, CoffeeProduct updatedProduct) {
+        CoffeeProduct previous = products.set(index, updatedProduct);
+        if (previous != null && !previous.getName().equals(updatedProduct.getName())) {
+            removedNames.put(previous.getName(), System.currentTimeMillis());
+        }
+        if (previous != null) {
+            // Edits replace the object; it keeps the product's id
+            if (updatedProduct.getId() <= 0) {
+                updatedProduct.setId(previous.getId());
+            }
+            untrack(previous);
+            unindex(previous);
+        }
+        track(updatedProduct);
+        nameIndex.putIfAbsent(normalizeName(updatedProduct.getName()), updatedProduct);
+        updatedProduct.markDirty();
+        saveInventory();
+    }
+
+    /**
+     * Applies an edit made against base (a copy taken when editing began)
+     * to the live product without replacing it. If the product changed in
+     * the meantime, e.g. a till sold some of it, the edit is merged: stock
+     * and total cost move by the amount the editor changed them, other
+     * fields take the editor's value only where the editor changed them.
+     * The merge is retried until a compare-and-set on the version wins, so
+     * no write is lost and only the product itself is ever locked.
+     * Returns true if other changes had to be merged in.
+     */
+    public boolean updateProduct(CoffeeProduct product, CoffeeProduct base, CoffeeProduct edited) {
+        String oldName = product.getName();
+        boolean merged;
+        while (true) {
+            CoffeeProduct current = product.copy();
+            merged = current.getVersion() != base.getVersion();
+            CoffeeProduct values = merged ? merge(base, current, edited) : edited;
+            if (product.compareAndSet(current.getVersion(), values)) break;
+        }
+        if (!oldName.equals(product.getName())) {
+            renamed(product, oldName);
+        }
+        saveInventory();
+        return merged;
+    }
+
+    private static CoffeeProduct merge(CoffeeProduct base, CoffeeProduct current, CoffeeProduct edited) {
+        return new CoffeeProduct(
+                pick(base.getName(), current.getName(), edited.getName()),
+                pick(base.getCategory(), current.getCategory(), edited.getCategory()),
+                Math.max(0, current.getTotalCost() + edited.getTotalCost() - base.getTotalCost()),
+                edited.getUnitSize() != base.getUnitSize() ? edited.getUnitSize() : current.getUnitSize(),
+                pick(base.getUnit(), current.getUnit(), edited.getUnit()),
+                Math.max(0, current.getStock() + edited.getStock() - base.getStock()),
+                edited.getMinStock() != base.getMinStock() ? edited.getMinStock() : current.getMinStock(),
+                pick(base.getImagePath(), current.getImagePath(), edited.getImagePath()));
+    }
+
+    // The editor's value if the editor changed it, otherwise the current one
+    private static String pick(String base, String current, String edited) {
+        return Objects.equals(base, edited) ? current : edited;
+    }
+
+    private synchronized void renamed(CoffeeProduct product, String oldName) {
+        removedNames.put(oldName, System.currentTimeMillis());
+        String oldKey = normalizeName(oldName);
+        if (nameIndex.get(oldKey) == product) {
+            nameIndex.remove(oldKey);
+            for (CoffeeProduct other : products) {
+                if (other != product && oldKey.equals(normalizeName(other.getName()))) {
+                    nameIndex.put(oldKey, other);
+                    break;
+                }
+            }
+        }
+        nameIndex.putIfAbsent(normalizeName(product.getName()), product);
+    }
+
+    /**
+     * Queues the products changed since the last save for the shared
+     * write-behind executor. Copies are taken here so the writer thread never
+     * sees a product half-way through an edit. The future fails if the store
+     * rejects the write; the changes then stay queued and are retried.
+     */
+    public synchronized CompletableFuture<Void> saveInventory() {
+        synchronized (pendingChanges) {
+            for (CoffeeProduct product : products) {
+                CoffeeProduct copy = product.takeDirtyCopy();
+                if (copy != null) {
+                    pendingChanges.put(copy.getName(), copy);
+                    pendingRemovals.remove(copy.getName());
+                }
+            }
+            removedNames.forEach((name, removedAt) -> {
+                pendingChanges.remove(name);
+                pendingRemovals.put(name, removedAt);
+            });
+            removedNames.clear();
+            if (pendingChanges.isEmpty() && pendingRemovals.isEmpty() && pendingSnapshot == null && pendingRestore == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            if (dataPersistence.getInventoryChangeCount() + pendingChanges.size() + pendingRemovals.size() > SNAPSHOT_THRESHOLD) {
+                queueSnapshot();
+            }
+        }
+        return PersistenceExecutor.shared().submit(this, this::writePendingChanges);
+    }
+
+    // Rewrites the whole catalog and clears the change log
+    public synchronized void saveSnapshot() {
+        synchronized (pendingChanges) {
+            products.forEach(CoffeeProduct::clearDirty);
+            removedNames.clear();
+            queueSnapshot();
+        }
+        PersistenceExecutor.shared().submit(this, this::writePendingChanges);
+    }
+
+    private void queueSnapshot() {
+        List<CoffeeProduct> snapshot = new ArrayList<>(products.size());
+        for (CoffeeProduct product : products) {
+            snapshot.add(product.copy());
+        }
+        pendingSnapshot = snapshot;
+        pendingChanges.clear();
+        pendingRemovals.clear();
+    }
+
+    // Runs on the persistence writer thread
+    private void writePendingChanges() {
+        List<CoffeeProduct> restored;
+        List<CoffeeProduct> snapshot;
+        List<CoffeeProduct> changed;
+        Map<String, Long> removed;
+        synchronized (pendingChanges) {
+            restored = pendingRestore;
+            snapshot = pendingSnapshot;
+            changed = new ArrayList<>(pendingChanges.values());
+            removed = new LinkedHashMap<>(pendingRemovals);
+            pendingRestore = null;
+            pendingSnapshot = null;
+            pendingChanges.clear();
+            pendingRemovals.clear();
+        }
+        try {
+            if (restored != null) {
+                dataPersistence.saveRestoredInventory(restored);
+                restored = null;
+            }
+            if (snapshot != null) {
+                dataPersistence.saveInventory(snapshot);
+                snapshot = null;
+            }
+            if (!changed.isEmpty() || !removed.isEmpty()) {
+                dataPersistence.appendInventoryChanges(changed, removed);
+            }
+        } catch (RuntimeException e) {
+            requeue(restored, snapshot, changed, removed);
+            PersistenceExecutor.shared().submitDelayed(this, this::writePendingChanges, RETRY_MILLIS);
+            throw e;
+        }
+    }
+
+    // Puts back what a failed write did not store, unless something queued since replaces it
+    private void requeue(List<CoffeeProduct> restored, List<CoffeeProduct> snapshot,
+                         List<CoffeeProduct> changed, Map<String, Long> removed) {
+        synchronized (pendingChanges) {
+            if (pendingRestore != null) return;
+            pendingRestore = restored;
+            if (pendingSnapshot != null) return;
+            pendingSnapshot = snapshot;
+            for (CoffeeProduct product : changed) {
+                if (!pendingRemovals.containsKey(product.getName())) {
+                    pendingChanges.putIfAbsent(product.getName(), product);
+                }
+            }
+            // Removals are written before changes, so a name removed and added again keeps both
+            removed.forEach(pendingRemovals::putIfAbsent);
+        }
+    }
+
+    // Products saved before ids existed get one, stored with the next save
+    private void assignMissingIds() {
+        boolean assigned = false;
+        for (CoffeeProduct product : products) {
+            productIds.advancePast(product.getId());
+        }
+        for (CoffeeProduct product : products) {
+            if (product.getId() <= 0) {
+                product.setId(productIds.nextId());
+                assigned = true;
+            }
+        }
+        if (assigned) {
+            saveInventory();
+        }
+    }
+
+    // Reloads the stored catalog; changes not yet written are dropped
+    public synchronized void loadInventory() {
+        try {
+            List<CoffeeProduct> loadedProducts = dataPersistence.loadInventory();
+            if (loadedProducts != null) {
+                synchronized (pendingChanges) {
+                    dropPendingWrites();
+                }
+                replaceProducts(loadedProducts);
+                assignMissingIds();
+            }
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(null, "Error loading inventory: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Replaces the catalog with one restored from a backup. Changes still
+     * queued are dropped and the restored catalog is written in their place
+     * by the same queued write, so nothing saved before the restore can
+     * overwrite it. The future completes once it is written.
+     */
+    public synchronized CompletableFuture<Void> restoreInventory(List<CoffeeProduct> restored) {
+        synchronized (pendingChanges) {
+            dropPendingWrites();
+            List<CoffeeProduct> copies = new ArrayList<>(restored.size());
+            for (CoffeeProduct product : restored) {
+                copies.add(product.copy());
+            }
+            pendingRestore = copies;
+        }
+        replaceProducts(restored);
+        assignMissingIds();
+        return PersistenceExecutor.shared().submit(this, this::writePendingChanges);
+    }
+
+    // Guarded by pendingChanges
+    private void dropPendingWrites() {
+        pendingRestore = null;
+        pendingSnapshot = null;
+        pendingChanges.clear();
+        pendingRemovals.clear();
+    }
+
+    private void replaceProducts(List<CoffeeProduct> replacement) {
+        products.forEach(CoffeeProduct::detach);
+        columns.clear();
+        aggregates.clear();
+        products.clear();
+        products.addAll(replacement);
+        products.forEach(this::track);
+        products.forEach(CoffeeProduct::clearDirty);
+        removedNames.clear();
+        rebuildIndex();
+    }
+
+    /**
+     * Holds a whole bill of materials (product name -> stock units) or
+     * nothing. Each product is reserved under its own lock and everything
+     * already held is released again if any line falls short, so there is
+     * no global lock. With a timeout above 0 the reservation is released
+     * automatically unless committed or released first.
+     */
+    public StockReservation reserve(Map<String, Double> billOfMaterials, long timeoutMillis)
+            throws StockReservation.InsufficientStockException {
+        StockReservation reservation = new StockReservation(this);
+        List<String> shortages = new ArrayList<>();
+        for (Map.Entry<String, Double> line : billOfMaterials.entrySet()) {
+            double units = line.getValue() != null ? line.getValue() : 0;
+            if (units <= 0) continue;
+            CoffeeProduct product = findProduct(line.getKey());
+            if (product == null) {
+                shortages.add(line.getKey() + " (not found)");
+            } else if (product.tryReserve(units)) {
+                reservation.add(product, units);
+            } else {
+                shortages.add(String.format("%s (need %.2f, available %.2f)",
+                        line.getKey(), units, product.getAvailableStock()));
+            }
+        }
+        if (!shortages.isEmpty()) {
+            reservation.release();
+            throw new StockReservation.InsufficientStockException(shortages);
+        }
+        reservation.expireAfter(timeoutMillis);
+        return reservation;
+    }
+
+    // Deducts a whole bill of materials or nothing
+    public void deduct(Map<String, Double> billOfMaterials) throws StockReservation.InsufficientStockException {
+        StockReservation reservation = reserve(billOfMaterials, 0);
+        try {
+            reservation.commit();
+        } catch (StockReservation.InsufficientStockException e) {
+            reservation.release();
+            throw e;
+        }
+    }
+
+    // Case-insensitive lookup by name through the index
+    public CoffeeProduct findProduct(String name) {
+        if (name == null) return null;
+        String key = normalizeName(name);
+        CoffeeProduct product = nameIndex.get(key);
+        if (product != null && !key.equals(normalizeName(product.getName()))) {
+            // Renamed in place without updateProduct
+            synchronized (this) {
+                rebuildIndex();
+            }
+            product = nameIndex.get(key);
+        }
+        return product;
+    }
+
+    static String normalizeName(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void rebuildIndex() {
+        nameIndex.clear();
+        for (CoffeeProduct product : products) {
+            nameIndex.putIfAbsent(normalizeName(product.getName()), product);
+        }
+    }
+
+    // Drops the product from the index, falling back to another product with the same name
+    private void unindex(CoffeeProduct product) {
+        String key = normalizeName(product.getName());
+        if (nameIndex.get(key) != product) return;
+        nameIndex.remove(key);
+        for (CoffeeProduct other : products) {
+            if (key.equals(normalizeName(other.getName()))) {
+                nameIndex.put(key, other);
+                return;
+            }
+        }
+    }
+
+    public void addStockAlertListener(StockAlertListener listener) {
+        alertListeners.add(listener);
+    }
+
+    public void removeStockAlertListener(StockAlertListener listener) {
+        alertListeners.remove(listener);
+    }
+
+    private void fireStockLevelChanged(CoffeeProduct product, StockLevel previous, StockLevel current) {
+        if (alertListeners.isEmpty()) return;
+        ALERTS.execute(() -> {
+            for (StockAlertListener listener : alertListeners) {
+                try {
+                    listener.stockLevelChanged(product, previous, current);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            }
+        });
+    }
+
+    // A product joined the catalog: count it and report its changes from now on
+    private void track(CoffeeProduct product) {
+        columns.bind(product);
+        CoffeeProduct.StockState state = product.attach(stockListener);
+        aggregates.added(state);
+        StockLevel level = StockLevel.of(state);
+        if (level != StockLevel.IN_STOCK) {
+            fireStockLevelChanged(product, null, level);
+        }
+    }
+
+    private void untrack(CoffeeProduct product) {
+        aggregates.removed(product.detach());
+        columns.unbind(product);
+    }
+
+    public double getTotalInventoryValue() {
+        return aggregates.getTotalValue();
+    }
+
+    public long getLowStockCount() {
+        return aggregates.getLowStockCount();
+    }
+
+    // Value, product count and low-stock count per category, by category name
+    public Map<String, InventoryAggregates.CategoryTotals> getCategoryTotals() {
+        return aggregates.getCategoryTotals();
+    }
+
+    // Products at or below their minimum stock, found by scanning the stock columns
+    public List<CoffeeProduct> getLowStockProducts() {
+        List<CoffeeProduct> lowStock = new ArrayList<>();
+        columns.forEachLowStock(lowStock::add);
+        return lowStock;
+    }
+
+    public List<CoffeeProduct> getProducts() {
+        return products;
+    }
+
+    InventoryStore getStore() {
+        return dataPersistence;
+    }
+}
+
+public class Inventory extends JFrame {
+    private InventoryManager inventoryManager;
+    private DefaultTableModel tableModel;
+    private JTable table;
+    private JLabel totalValueLabel;
+    private JLabel lowStockWarningLabel;
+    private JLabel categoryBreakdownLabel;
+    private JLabel stockAlertLabel;
+    // Refreshes the table when any till pushes a product across its minimum.
+    // A burst of alerts (an import, a reload, a restore) is folded into one
+    // repaint per event-thread turn; only the latest alert text is shown.
+    private final AtomicBoolean alertRepaintQueued = new AtomicBoolean();
+    private final AtomicReference<String> latestAlert = new AtomicReference<>();
+    private final AtomicInteger alertsSinceRepaint = new AtomicInteger();
+    private final StockAlertListener stockAlertListener = (product, previous, current) -> {
+        latestAlert.set(current == StockLevel.IN_STOCK
+                ? "✔ " + product.getName() + " is back in stock"
+                : "⚠ " + product.getName() + ": " + current.getLabel());
+        alertsSinceRepaint.incrementAndGet();
+        if (alertRepaintQueued.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::showStockAlerts);
+        }
+    };
+
+    public Inventory(InventoryManager inventoryManager) {
+        this.inventoryManager = inventoryManager;
+        initializeUI();
+        loadSampleData();
+        inventoryManager.addStockAlertListener(stockAlertListener);
+    }
+
+    @Override
+    public void dispose() {
+        inventoryManager.removeStockAlertListener(stockAlertListener);
+        super.dispose();
+    }
+
+    private void showStockAlerts() {
+        alertRepaintQueued.set(false);
+        int alerts = alertsSinceRepaint.getAndSet(0);
+        String text = latestAlert.get();
+        if (text == null || alerts == 0) return;
+        stockAlertLabel.setText(alerts > 1 ? text + " (+" + (alerts - 1) + " more)" : text);
+        stockAlertLabel.setForeground(text.startsWith("✔") ? new Color(0, 128, 0) : Color.RED);
+        refreshTable();
+        updateDashboard();
+    }
+
+    public Inventory() {
+        this(AppBootstrap.get().getInventoryManager());
+    }
+
+    private void initializeUI() {
+        setTitle("☕ Coffee Shop Inventory Tracker by Mico Abutin");
+        setSize(1218, 600);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setLocationRelativeTo(null);
+        getContentPane().setBackground(UIConstants.CREAM);
+        JPanel headerPanel = createHeaderPanel();
+        createInventoryTable();
+        JPanel buttonPanel = createButtonPanel();
+        JPanel statusPanel = createStatusPanel();
+        getContentPane().setLayout(new BorderLayout(10, 10));
+        getContentPane().add(headerPanel, BorderLayout.NORTH);
+        getContentPane().add(new JScrollPane(table), BorderLayout.CENTER);
+        getContentPane().add(buttonPanel, BorderLayout.SOUTH);
+        getContentPane().add(statusPanel, BorderLayout.EAST);
+        ((JComponent) getContentPane()).setBorder(new EmptyBorder(15, 15, 15, 15));
+
+        // Set window icon
+        try {
+            ImageIcon icon = UIUtils.loadImageIcon(UIUtils.LOGO_PATH, 32, 32);
+            if (icon != null) {
+                setIconImage(icon.getImage());
+            }
+        } catch (Exception e) {
+            System.err.println("Error loading window icon: " + e.getMessage());
+        }
+    }
+
+    private JPanel createHeaderPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(UIConstants.COFFEE_BROWN);
+        panel.setBorder(new EmptyBorder(15, 20, 15, 20));
+
+        // Logo
+        JLabel logoLabel = new JLabel();
+        ImageIcon logoIcon = UIUtils.loadImageIcon(UIUtils.LOGO_PATH, 50, 50);
+        if (logoIcon != null) {
+            logoLabel.setIcon(logoIcon);
+        } else {
+            logoLabel.setText("☕ Micow");
+            logoLabel.setFont(new Font("Arial", Font.BOLD, 20));
+            logoLabel.setForeground(Color.WHITE);
+        }
+        panel.add(logoLabel, BorderLayout.WEST);
+
+        // Title
+        JLabel titleLabel = new JLabel("Coffee Shop Inventory");
+        titleLabel.setFont(UIConstants.TITLE_FONT);
+        titleLabel.setForeground(Color.WHITE);
+        titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        panel.add(titleLabel, BorderLayout.CENTER);
+
+        // Date
+        JLabel dateLabel = new JLabel(LocalDateTime.now().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy")));
+        dateLabel.setFont(UIConstants.TABLE_FONT);
+        dateLabel.setForeground(UIConstants.LIGHT_COFFEE);
+        panel.add(dateLabel, BorderLayout.EAST);
+
+        return panel;
+    }
+
+    private void createInventoryTable() {
+        String[] columns = {"Image", "Product Name", "Category", "Total Cost", "Unit Size", "Stock Qty", "Cost/Unit", "Status"};
+        tableModel = new DefaultTableModel(columns, 0) {
+            @Override
+            public Class<?> getColumnClass(int column) {
+                if (column == 0) return ImageIcon.class;
+                return String.class;
+            }
+
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        table = new JTable(tableModel);
+        table.setRowHeight(70);
+        table.setBackground(Color.WHITE);
+        table.setGridColor(UIConstants.LIGHT_COFFEE);
+        table.setFont(UIConstants.TABLE_FONT);
+        table.setSelectionBackground(UIConstants.LIGHT_COFFEE);
+        table.setSelectionForeground(UIConstants.COFFEE_BROWN);
+        JTableHeader header = table.getTableHeader();
+        header.setBackground(UIConstants.COFFEE_BROWN);
+        header.setForeground(Color.BLACK);
+        header.setFont(UIConstants.HEADER_FONT);
+        for (int i = 0; i < columns.length; i++) {
+            table.getColumnModel().getColumn(i).setPreferredWidth(UIConstants.COLUMN_WIDTHS[i]);
+        }
+        table.getColumnModel().getColumn(7).setCellRenderer(new StatusCellRenderer());
+        table.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int row = table.getSelectedRow();
+                if (row >= 0 && e.getClickCount() == 2) {
+                    CoffeeProduct selected = inventoryManager.getProducts().get(row);
+                    showProductDetails(selected);
+                }
+            }
+        });
+    }
+    
+
+    private JPanel createButtonPanel() {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER, 5, 10));
+        panel.setBackground(UIConstants.CREAM);
+
+        JButton addButton = createStyledButton("Add Product", " + ");
+        JButton editButton = createStyledButton("Edit Product", "*");
+        JButton deleteButton = createStyledButton("Delete Product", "/");
+        JButton usageButton = createStyledButton("Record Usage", "'");
+        JButton restockButton = createStyledButton("Restock", "📦");
+        JButton importButton = createStyledButton("Bulk Import", "📥");
+        JButton restoreButton = createStyledButton("Restore", "⏪");
+        JButton ingredientUsageButton = createStyledButton("Ingredient Usage", "☕");
+        JButton returnButton = createStyledButton("Return", "↩️");
+
+        addButton.addActionListener(e -> new ProductDialog(this, "Add Coffee Product", null).setVisible(true));
+        editButton.addActionListener(e -> editSelectedProduct());
+        deleteButton.addActionListener(e -> deleteSelectedProduct());
+        usageButton.addActionListener(e -> showUsageDialog());
+        restockButton.addActionListener(e -> showRestockDialog());
+        importButton.addActionListener(e -> bulkImport());
+        restoreButton.addActionListener(e -> showRestoreDialog());
+        ingredientUsageButton.addActionListener(e -> {
+            try {
+                System.out.println("Attempting to open IngredientUsageFrame at " + new java.util.Date());
+                SwingUtilities.invokeLater(() -> {
+                    try {
+                        IngredientUsageFrame frame = new IngredientUsageFrame(this, inventoryManager);
+                        frame.setVisible(true);
+                        System.out.println("IngredientUsageFrame opened successfully");
+                    } catch (Exception ex) {
+                        System.err.println("Error in invokeLater for IngredientUsageFrame: " + ex.getMessage());
+                        ex.printStackTrace();
+                        JOptionPane.showMessageDialog(this, "Error opening Ingredient Usage: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                });
+            } catch (Exception ex) {
+                System.err.println("Error opening IngredientUsageFrame: " + ex.getMessage());
+                ex.printStackTrace();
+                JOptionPane.showMessageDialog(this, "Error opening Ingredient Usage: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+        returnButton.addActionListener(e -> onReturnButtonClicked());
+
+        panel.add(addButton);
+        panel.add(editButton);
+        panel.add(deleteButton);
+        panel.add(usageButton);
+        panel.add(restockButton);
+        panel.add(importButton);
+        panel.add(restoreButton);
+        panel.add(ingredientUsageButton);
+        panel.add(returnButton);
+
+        return panel;
+    }
+
+    private JButton createStyledButton(String text, String emoji) {
+        JButton button = new JButton(emoji + " " + text);
+        button.setBackground(UIConstants.COFFEE_BROWN);
+        button.setForeground(Color.WHITE);
+        button.setFont(UIConstants.HEADER_FONT);
+        button.setFocusPainted(false);
+        button.setBorder(new EmptyBorder(12, 24, 12, 24));
+        button.setOpaque(true);
+        button.setBorderPainted(false);
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        button.setPreferredSize(new Dimension(160, 40));
+        button.setUI(new javax.swing.plaf.basic.BasicButtonUI() {
+            @Override
+            protected void paintButtonPressed(Graphics g, AbstractButton b) {
+                g.setColor(UIConstants.ACCENT_ORANGE.darker());
+                g.fillRoundRect(0, 0, b.getWidth(), b.getHeight(), 20, 20);
+            }
+        });
+
+        button.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(new Color(0, 0, 0, 50), 1),
+            BorderFactory.createEmptyBorder(12, 24, 12, 24)
+        ));
+
+        button.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseEntered(MouseEvent e) {
+                button.setBackground(UIConstants.BUTTON_HOVER);
+                button.setBorder(BorderFactory.createCompoundBorder(
+                    BorderFactory.createLineBorder(new Color(0, 0, 0, 100), 1),
+                    BorderFactory.createEmptyBorder(12, 24, 12, 24)
+                ));
+                button.setLocation(button.getX(), button.getY() - 2);
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                button.setBackground(UIConstants.COFFEE_BROWN);
+                button.setBorder(BorderFactory.createCompoundBorder(
+                    BorderFactory.createLineBorder(new Color(0, 0, 0, 50), 1),
+                    BorderFactory.createEmptyBorder(12, 24, 12, 24)
+                ));
+                button.setLocation(button.getX(), button.getY() + 2);
+            }
+        });
+
+        return button;
+    }
+
+    private JPanel createStatusPanel() {
+        JPanel panel = new JPanel();
+        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+        panel.setBackground(UIConstants.CREAM);
+        panel.setBorder(BorderFactory.createTitledBorder(
+                BorderFactory.createLineBorder(UIConstants.COFFEE_BROWN, 2),
+                "Dashboard",
+                0, 0,
+                UIConstants.HEADER_FONT,
+                UIConstants.COFFEE_BROWN));
+        panel.setPreferredSize(new Dimension(200, 0));
+        totalValueLabel = new JLabel("Total Inventory: ₱0.00");
+        lowStockWarningLabel = new JLabel("Low Stock Items: 0");
+        categoryBreakdownLabel = new JLabel();
+        stockAlertLabel = new JLabel(" ");
+        JLabel[] labels = {totalValueLabel, lowStockWarningLabel, stockAlertLabel, categoryBreakdownLabel};
+        for (JLabel label : labels) {
+            label.setFont(UIConstants.TABLE_FONT);
+            label.setBorder(new EmptyBorder(5, 10, 5, 10));
+            panel.add(label);
+        }
+        return panel;
+    }
+
+    private class ProductDialog extends JDialog {
+        private JTextField nameField;
+        private JComboBox<String> categoryBox;
+        private JTextField costField;
+        private JTextField unitSizeField;
+        private JComboBox<String> unitBox;
+        private JTextField stockField;
+        private JTextField minStockField;
+        private JLabel imageLabel;
+        private String selectedImagePath;
+        // The product as it was when the dialog opened; edits are merged against it
+        private final CoffeeProduct base;
+
+        public ProductDialog(Frame parent, String title, CoffeeProduct product) {
+            super(parent, title, true);
+            this.base = product != null ? product.copy() : null;
+            setSize(500, 600);
+            setLocationRelativeTo(parent);
+            buildUI(product);
+        }
+        
+        
+
+        private void buildUI(CoffeeProduct product) {
+            JPanel mainPanel = new JPanel(new GridBagLayout());
+            GridBagConstraints gbc = new GridBagConstraints();
+            gbc.insets = new Insets(5, 5, 5, 5);
+            gbc.fill = GridBagConstraints.HORIZONTAL;
+
+            nameField = new JTextField(base != null ? base.getName() : "", 20);
+            String[] categories = {"Coffee Beans", "Milk Products", "Syrups", "Pastries", "Equipment", "Other"};
+            categoryBox = new JComboBox<>(categories);
+            if (base != null) categoryBox.setSelectedItem(base.getCategory());
+            costField = new JTextField(base != null ? String.valueOf(base.getTotalCost()) : "", 20);
+            unitSizeField = new JTextField(base != null ? String.valueOf(base.getUnitSize()) : "", 20);
+            String[] units = {"g", "ml", "kg", "L", "pcs", "bags"};
+            unitBox = new JComboBox<>(units);
+            if (base != null) unitBox.setSelectedItem(base.getUnit());
+            stockField = new JTextField(base != null ? String.valueOf(base.getStock()) : "", 20);
+            minStockField = new JTextField(base != null ? String.valueOf(base.getMinStock()) : "", 20);
+
+            imageLabel = new JLabel("Drop image here or click to browse", SwingConstants.CENTER);
+            imageLabel.setPreferredSize(new Dimension(200, 150));
+            imageLabel.setBorder(BorderFactory.createDashedBorder(UIConstants.COFFEE_BROWN, 2, 5, 5, true));
+            imageLabel.setBackground(Color.WHITE);
+            imageLabel.setOpaque(true);
+            selectedImagePath = base != null ? base.getImagePath() : null;
+            if (selectedImagePath != null) setImagePreview(imageLabel, selectedImagePath);
+
+            new DropTarget(imageLabel, new java.awt.dnd.DropTargetAdapter() {
+                @Override
+                public void drop(java.awt.dnd.DropTargetDropEvent dtde) {
+                    try {
+                        dtde.acceptDrop(java.awt.dnd.DnDConstants.ACTION_COPY);
+                        List<File> droppedFiles = (List<File>) dtde.getTransferable()
+                                .getTransferData(java.awt.datatransfer.DataFlavor.javaFileListFlavor);
+                        if (!droppedFiles.isEmpty()) {
+                            File file = droppedFiles.get(0);
+                            if (isImageFile(file)) {
+                                selectedImagePath = file.getAbsolutePath();
+                                setImagePreview(imageLabel, selectedImagePath);
+                            } else {
+                                JOptionPane.showMessageDialog(ProductDialog.this, "Please select an image file!");
+                            }
+                        }
+                    } catch (Exception ex) {
+                        JOptionPane.showMessageDialog(ProductDialog.this, "Error loading image!");
+                        ex.printStackTrace();
+                    }
+                }
+            });
+
+            imageLabel.addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    JFileChooser fileChooser = new JFileChooser();
+                    fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter(
+                            "Image files", "jpg", "jpeg", "png", "gif"));
+                    if (fileChooser.showOpenDialog(ProductDialog.this) == JFileChooser.APPROVE_OPTION) {
+                        selectedImagePath = fileChooser.getSelectedFile().getAbsolutePath();
+                        setImagePreview(imageLabel, selectedImagePath);
+                    }
+                }
+            });
+
+            gbc.gridx = 0; gbc.gridy = 0;
+            mainPanel.add(new JLabel("Product Name:"), gbc);
+            gbc.gridx = 1;
+            mainPanel.add(nameField, gbc);
+            gbc.gridx = 0; gbc.gridy = 1;
+            mainPanel.add(new JLabel("Category:"), gbc);
+            gbc.gridx = 1;
+            mainPanel.add(categoryBox, gbc);
+            gbc.gridx = 0; gbc.gridy = 2;
+            mainPanel.add(new JLabel("Total Cost (₱):"), gbc);
+            gbc.gridx = 1;
+            mainPanel.add(costField, gbc);
+            gbc.gridx = 0; gbc.gridy = 3;
+            mainPanel.add(new JLabel("Unit Size:"), gbc);
+            gbc.gridx = 1;
+            mainPanel.add(unitSizeField, gbc);
+            gbc.gridx = 0; gbc.gridy = 4;
+            mainPanel.add(new JLabel("Unit:"), gbc);
+            gbc.gridx = 1;
+            mainPanel.add(unitBox, gbc);
+            gbc.gridx = 0; gbc.gridy = 5;
+            mainPanel.add(new JLabel("Stock Quantity:"), gbc);
+            gbc.gridx = 1;
+            mainPanel.add(stockField, gbc);
+            gbc.gridx = 0; gbc.gridy = 6;
+            mainPanel.add(new JLabel("Min Stock Level:"), gbc);
+            gbc.gridx = 1;
+            mainPanel.add(minStockField, gbc);
+            gbc.gridx = 0; gbc.gridy = 7;
+            gbc.gridwidth = 2;
+            mainPanel.add(new JLabel("Product Image:"), gbc);
+            gbc.gridy = 8;
+            mainPanel.add(imageLabel, gbc);
+
+            JPanel buttonPanel = new JPanel();
+            JButton saveButton = new JButton("Save Product");
+            JButton cancelButton = new JButton("Cancel");
+            saveButton.addActionListener(e -> saveProduct(product));
+            cancelButton.addActionListener(e -> dispose());
+            buttonPanel.add(saveButton);
+            buttonPanel.add(cancelButton);
+            gbc.gridy = 9;
+            mainPanel.add(buttonPanel, gbc);
+
+            add(mainPanel);
+        }
+
+        private void saveProduct(CoffeeProduct product) {
+            try {
+                String name = nameField.getText().trim();
+                double cost = Double.parseDouble(costField.getText());
+                double unitSize = Double.parseDouble(unitSizeField.getText());
+                double stock = Double.parseDouble(stockField.getText());
+                double minStock = Double.parseDouble(minStockField.getText());
+
+                if (name.isEmpty()) {
+                    JOptionPane.showMessageDialog(this, "Please enter a product name!");
+                    return;
+                }
+                if (cost < 0 || unitSize <= 0 || stock < 0 || minStock < 0) {
+                    JOptionPane.showMessageDialog(this, "Values cannot be negative or zero (except stock)!");
+                    return;
+                }
+                if (minStock > stock) {
+                    JOptionPane.showMessageDialog(this, "Minimum stock cannot exceed current stock!");
+                    return;
+                }
+
+                CoffeeProduct newProduct = new CoffeeProduct(name, (String) categoryBox.getSelectedItem(),
+                        cost, unitSize, (String) unitBox.getSelectedItem(), stock, minStock, selectedImagePath);
+                boolean merged = false;
+                if (product == null) {
+                    inventoryManager.addProduct(newProduct);
+                } else {
+                    merged = inventoryManager.updateProduct(product, base, newProduct);
+                }
+                refreshTable();
+                updateDashboard();
+                dispose();
+                JOptionPane.showMessageDialog(Inventory.this, merged
+                        ? "Product saved. It changed while you were editing, so your changes were merged:\n"
+                            + product
+                        : "Product saved successfully!");
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(this, "Please enter valid numbers!");
+                ex.printStackTrace();
+            }
+        }
+    }
+
+    private void editSelectedProduct() {
+        int selectedRow = table.getSelectedRow();
+        if (selectedRow < 0) {
+            JOptionPane.showMessageDialog(this, "Please select a product to edit!");
+            return;
+        }
+        CoffeeProduct product = inventoryManager.getProducts().get(selectedRow);
+        new ProductDialog(this, "Edit Coffee Product", product).setVisible(true);
+    }
+
+    private void deleteSelectedProduct() {
+        int selectedRow = table.getSelectedRow();
+        if (selectedRow < 0) {
+            JOptionPane.showMessageDialog(this, "Please select a product to delete!");
+            return;
+        }
+        int result = JOptionPane.showConfirmDialog(this,
+                "Are you sure you want to delete this product?",
+                "Confirm Delete",
+                JOptionPane.YES_NO_OPTION);
+        if (result == JOptionPane.YES_OPTION) {
+            inventoryManager.removeProduct(selectedRow);
+            refreshTable();
+            updateDashboard();
+        }
+    }
+
+    private void showUsageDialog() {
+        int selectedRow = table.getSelectedRow();
+        if (selectedRow < 0) {
+            JOptionPane.showMessageDialog(this, "Please select a product to record usage!");
+            return;
+        }
+        CoffeeProduct product = inventoryManager.getProducts().get(selectedRow);
+        String usage = JOptionPane.showInputDialog(this,
+                "Enter quantity used for " + product.getName() + " (in " + product.getUnit() + "):");
+        try {
+            double usageAmount = Double.parseDouble(usage);
+            if (usageAmount < 0) {
+                JOptionPane.showMessageDialog(this, "Usage quantity cannot be negative!");
+                return;
+            }
+            product.reduceStock(usageAmount);
+            reportSaveFailure(inventoryManager.saveInventory());
+            refreshTable();
+            updateDashboard();
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Please enter a valid number!");
+            ex.printStackTrace();
+        }
+    }
+
+    private void showRestockDialog() {
+        int selectedRow = table.getSelectedRow();
+        if (selectedRow < 0) {
+            JOptionPane.showMessageDialog(this, "Please select a product to restock!");
+            return;
+        }
+        CoffeeProduct product = inventoryManager.getProducts().get(selectedRow);
+        String restock = JOptionPane.showInputDialog(this,
+                "Enter restock quantity for " + product.getName() + " (in " + product.getUnit() + "):");
+        try {
+            double restockAmount = Double.parseDouble(restock);
+            if (restockAmount < 0) {
+                JOptionPane.showMessageDialog(this, "Restock quantity cannot be negative!");
+                return;
+            }
+            String costStr = JOptionPane.showInputDialog(this,
+                    "Enter cost for the restocked amount (₱):");
+            double addedCost = Double.parseDouble(costStr);
+            if (addedCost < 0) {
+                JOptionPane.showMessageDialog(this, "Cost cannot be negative!");
+                return;
+            }
+            product.addStock(restockAmount, addedCost);
+            reportSaveFailure(inventoryManager.saveInventory());
+            refreshTable();
+            updateDashboard();
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Please enter a valid number!");
+            ex.printStackTrace();
+        }
+    }
+
+    // Tells the user when the store rejects a save; the changes stay queued and are retried
+    private void reportSaveFailure(CompletableFuture<Void> save) {
+        save.whenComplete((ignored, ex) -> {
+            if (ex == null) return;
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                    "Inventory could not be saved: " + cause.getMessage() + "\nIt will be retried.",
+                    "Save failed", JOptionPane.ERROR_MESSAGE));
+        });
+    }
+
+    // Parses the file in the background, then merges on the event thread
+    private void bulkImport() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("CSV or JSON files", "csv", "json"));
+        JCheckBox replaceStock = new JCheckBox("<html>Replace stock of<br>existing products</html>");
+        fileChooser.setAccessory(replaceStock);
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        File file = fileChooser.getSelectedFile();
+        InventoryImporter importer = new InventoryImporter(inventoryManager);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        SwingWorker<InventoryImporter.ImportReport, Void> worker = new SwingWorker<>() {
+            @Override
+            protected InventoryImporter.ImportReport doInBackground() throws Exception {
+                return importer.parse(file);
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                InventoryImporter.ImportReport report;
+                try {
+                    report = importer.apply(get(), replaceStock.isSelected());
+                } catch (Exception ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    JOptionPane.showMessageDialog(Inventory.this, "Import failed: " + cause.getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                refreshTable();
+                String summary = String.format("Added %d and updated %d products.%nRejected rows: %d",
+                        report.getAdded(), report.getUpdated(), report.getRejected().size());
+                if (report.getRejected().isEmpty()) {
+                    JOptionPane.showMessageDialog(Inventory.this, summary, "Import Complete", JOptionPane.INFORMATION_MESSAGE);
+                    return;
+                }
+                int choice = JOptionPane.showConfirmDialog(Inventory.this, summary + "\n\nSave a report of the rejected rows?",
+                        "Import Complete", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+                if (choice == JOptionPane.YES_OPTION) {
+                    JFileChooser reportChooser = new JFileChooser();
+                    reportChooser.setSelectedFile(new File(file.getParentFile(), "rejected_" + file.getName().replaceAll("\\.\\w+$", "") + ".csv"));
+                    if (reportChooser.showSaveDialog(Inventory.this) == JFileChooser.APPROVE_OPTION) {
+                        try {
+                            report.writeRejectedReport(reportChooser.getSelectedFile());
+                        } catch (java.io.IOException ex) {
+                            JOptionPane.showMessageDialog(Inventory.this, "Error saving report: " + ex.getMessage());
+                        }
+                    }
+                }
+            }
+        };
+        worker.execute();
+    }
+
+    // Rolls the catalog back to a chosen time using the backups and the change logs
+    private void showRestoreDialog() {
+        if (!(inventoryManager.getStore() instanceof DataPersistence)) {
+            JOptionPane.showMessageDialog(this, "Point-in-time restore needs the file storage backend.",
+                    "Restore Inventory", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        DataPersistence store = (DataPersistence) inventoryManager.getStore();
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+        JTextField timeField = new JTextField(LocalDateTime.now().minusHours(1).format(format), 16);
+        JCheckBox deductSales = new JCheckBox("Deduct sales made after this time", true);
+        JPanel form = new JPanel(new GridLayout(0, 1, 5, 5));
+        form.add(new JLabel("Restore inventory as of (yyyy-MM-dd HH:mm):"));
+        form.add(timeField);
+        form.add(deductSales);
+        if (JOptionPane.showConfirmDialog(this, form, "Restore Inventory", JOptionPane.OK_CANCEL_OPTION) != JOptionPane.OK_OPTION) {
+            return;
+        }
+        LocalDateTime target;
+        try {
+            target = LocalDateTime.parse(timeField.getText().trim(), format);
+        } catch (java.time.format.DateTimeParseException ex) {
+            JOptionPane.showMessageDialog(this, "Please enter the time as yyyy-MM-dd HH:mm.", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        int choice = JOptionPane.showConfirmDialog(this,
+                "Replace the current inventory with its state at " + target.format(format) + "?\n"
+                        + "The current state stays in the change log.",
+                "Confirm Restore", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+        if (choice != JOptionPane.YES_OPTION) return;
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                AppContext app = AppBootstrap.get();
+                RestoreEngine engine = new RestoreEngine(store, new BackupManager(app.getSettings().getBackupDirectory()));
+                engine.restoreInventory(target, inventoryManager, deductSales.isSelected() ? app.getTransactionManager() : null);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    get();
+                } catch (Exception ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    JOptionPane.showMessageDialog(Inventory.this, "Restore failed: " + cause.getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                refreshTable();
+                JOptionPane.showMessageDialog(Inventory.this, "Inventory restored to " + target.format(format) + ".",
+                        "Restore Complete", JOptionPane.INFORMATION_MESSAGE);
+            }
+        };
+        worker.execute();
+    }
+
+    private void showProductDetails(CoffeeProduct product) {
+        JDialog dialog = new JDialog(this, product.getName() + " - Details", true);
+        dialog.setSize(400, 500);
+        dialog.setLocationRelativeTo(this);
+        JPanel panel = new JPanel(new BorderLayout());
+        if (product.getImagePath() != null) {
+            ImageIcon icon = new ImageIcon(product.getImagePath());
+            Image scaled = icon.getImage().getScaledInstance(300, 200, Image.SCALE_SMOOTH);
+            JLabel imageLabel = new JLabel(new ImageIcon(scaled));
+            panel.add(imageLabel, BorderLayout.NORTH);
+        }
+        StringBuilder details = new StringBuilder("<html><body style='padding: 10px; font-family: Arial;'>");
+        details.append("<h3>").append(product.getName()).append("</h3>");
+        details.append("<p><b>Category:</b> ").append(product.getCategory()).append("</p>");
+        details.append("<p><b>Total Cost:</b> ₱").append(String.format("%.2f", product.getTotalCost())).append("</p>");
+        details.append("<p><b>Unit Size:</b> ").append(product.getUnitSize()).append(" ").append(product.getUnit()).append("</p>");
+        details.append("<p><b>Stock:</b> ").append(String.format("%.2f", product.getStock())).append("</p>");
+        details.append("<p><b>Min Stock:</b> ").append(String.format("%.2f", product.getMinStock())).append("</p>");
+        details.append("<p><b>Cost per Unit:</b> ₱").append(String.format("%.2f", product.getCostPerUnit())).append("</p>");
+        details.append("<p><b>Status:</b> ").append(product.getStockStatus()).append("</p>");
+        details.append("</body></html>");
+        JLabel detailsLabel = new JLabel(details.toString());
+        panel.add(detailsLabel, BorderLayout.CENTER);
+        dialog.getContentPane().add(panel);
+        dialog.setVisible(true);
+    }
+
+    public void refreshTable() {
+        tableModel.setRowCount(0);
+        for (CoffeeProduct product : inventoryManager.getProducts()) {
+            ImageIcon icon = null;
+            if (product.getImagePath() != null && new File(product.getImagePath()).exists()) {
+                ImageIcon originalIcon = new ImageIcon(product.getImagePath());
+                Image scaledImage = originalIcon.getImage().getScaledInstance(60, 60, Image.SCALE_SMOOTH);
+                icon = new ImageIcon(scaledImage);
+            }
+            tableModel.addRow(new Object[]{
+                    icon,
+                    product.getName(),
+                    product.getCategory(),
+                    "₱" + String.format("%.2f", product.getTotalCost()),
+                    product.getUnitSize() + " " + product.getUnit(),
+                    String.format("%.2f", product.getStock()),
+                    "₱" + String.format("%.2f", product.getCostPerUnit()),
+                    product.getStockStatus()
+            });
+        }
+    }
+
+    void updateDashboard() {
+        double totalValue = inventoryManager.getTotalInventoryValue();
+        long lowStockCount = inventoryManager.getLowStockCount();
+        totalValueLabel.setText("Total Inventory: ₱" + String.format("%.2f", totalValue));
+        lowStockWarningLabel.setText("Low Stock Items: " + lowStockCount);
+        lowStockWarningLabel.setForeground(lowStockCount > 0 ? Color.RED : Color.BLACK);
+        lowStockWarningLabel.setToolTipText(lowStockCount > 0 ? lowStockNames() : null);
+
+        StringBuilder breakdown = new StringBuilder("<html><b>By Category</b>");
+        for (Map.Entry<String, InventoryAggregates.CategoryTotals> entry : inventoryManager.getCategoryTotals().entrySet()) {
+            InventoryAggregates.CategoryTotals totals = entry.getValue();
+            breakdown.append("<br>").append(entry.getKey().replace("&", "&amp;").replace("<", "&lt;")).append(": ₱").append(String.format("%.2f", totals.getValue()))
+                    .append(" (").append(totals.getProducts()).append(totals.getLowStock() > 0 ? ", " + totals.getLowStock() + " low" : "")
+                    .append(")");
+        }
+        categoryBreakdownLabel.setText(breakdown.append("</html>").toString());
+    }
+
+    // Names for the low-stock tooltip; a long list is cut short
+    private String lowStockNames() {
+        List<CoffeeProduct> lowStock = inventoryManager.getLowStockProducts();
+        StringBuilder names = new StringBuilder();
+        for (int i = 0; i < lowStock.size() && i < 20; i++) {
+            if (i > 0) names.append(", ");
+            names.append(lowStock.get(i).getName());
+        }
+        if (lowStock.size() > 20) {
+            names.append(" and ").append(lowStock.size() - 20).append(" more");
+        }
+        return names.toString();
+    }
+
+    private void setImagePreview(JLabel label, String imagePath) {
+        if (imagePath != null && new File(imagePath).exists()) {
+            ImageIcon icon = new ImageIcon(imagePath);
+            Image scaled = icon.getImage().getScaledInstance(200, 150, Image.SCALE_SMOOTH);
+            label.setText("");
+            label.setIcon(new ImageIcon(scaled));
+        }
+    }
+
+    private void onReturnButtonClicked() {
+        this.dispose();
+    }
+
+    private boolean isImageFile(File file) {
+        String name = file.getName().toLowerCase();
+        return name.endsWith(".jpg") || name.endsWith(".jpeg") ||
+                name.endsWith(".png") || name.endsWith(".gif");
+    }
+
+    private void loadSampleData() {
+        refreshTable();
+        updateDashboard();
+    }
+
+    private class StatusCellRenderer extends DefaultTableCellRenderer {
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value,
+                                                      boolean isSelected, boolean hasFocus, int row, int column) {
+            Component c = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            if (!isSelected) {
+                String status = value.toString();
+                switch (status) {
+                    case "Low Stock":
+                        c.setBackground(new Color(255, 200, 200));
+                        c.setForeground(Color.RED);
+                        break;
+                    case "Out of Stock":
+                        c.setBackground(new Color(255, 150, 150));
+                        c.setForeground(Color.RED);
+                        break;
+                    case "In Stock":
+                        c.setBackground(new Color(200, 255, 200));
+                        c.setForeground(new Color(0, 120, 0));
+                        break;
+                    default:
+                        c.setBackground(Color.WHITE);
+                        c.setForeground(Color.BLACK);
+                }
+            }
+            setHorizontalAlignment(SwingConstants.CENTER);
+            return c;
+        }
+    }
+
+    public static void main(String[] args) {
+        SwingUtilities.invokeLater(() -> {
+            try {
+                UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+                new Inventory().setVisible(true);
+            } catch (Exception e) {
+                JOptionPane.showMessageDialog(null, "Error initializing UI: " + e.getMessage());
+                e.printStackTrace();
+            }
+        });
+    }
+}
+
@@ -0,0 +1,97 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Inventory value and low-stock counts, overall and per category, kept up
+ * to date from product change events instead of being recomputed from the
+ * catalog. Every change adds the difference between the old and the new
+ * state, so reads are O(1) and writers on different products do not
+ * contend. Stock at or below the minimum counts as low, as in
+ * InventoryManager.getLowStockCount.
+ */
+class InventoryAggregates {
+    private static final String UNCATEGORIZED = "Uncategorized";
+
+    private final Totals overall = new Totals();
+    private final Map<String, Totals> byCategory = new ConcurrentHashMap<>();
+
+    private static final class Totals {
+        final DoubleAdder value = new DoubleAdder();
+        final LongAdder products = new LongAdder();
+        final LongAdder lowStock = new LongAdder();
+
+        void add(CoffeeProduct.StockState state, int sign) {
+            value.add(sign * state.totalCost);
+            products.add(sign);
+            if (state.isLowStock()) lowStock.add(sign);
+        }
+    }
+
+    // Read-only figures for one category
+    public static final class CategoryTotals {
+        private final double value;
+        private final long products;
+        private final long lowStock;
+
+        CategoryTotals(double value, long products, long lowStock) {
+            this.value = value;
+            this.products = products;
+            this.lowStock = lowStock;
+        }
+
+        public double getValue() { return value; }
+        public long getProducts() { return products; }
+        public long getLowStock() { return lowStock; }
+    }
+
+    // A product joined the catalog in the given state
+    void added(CoffeeProduct.StockState state) {
+        add(state, 1);
+    }
+
+    // A product left the catalog; its last reported state is taken off
+    void removed(CoffeeProduct.StockState state) {
+        if (state != null) add(state, -1);
+    }
+
+    void clear() {
+        overall.value.reset();
+        overall.products.reset();
+        overall.lowStock.reset();
+        byCategory.clear();
+    }
+
+    void changed(CoffeeProduct.StockState before, CoffeeProduct.StockState after) {
+        removed(before);
+        add(after, 1);
+    }
+
+    double getTotalValue() { return overall.value.sum(); }
+
+    long getProductCount() { return overall.products.sum(); }
+
+    long getLowStockCount() { return overall.lowStock.sum(); }
+
+    // Categories in name order; empty categories are left out
+    Map<String, CategoryTotals> getCategoryTotals() {
+        Map<String, CategoryTotals> result = new TreeMap<>();
+        byCategory.forEach((category, totals) -> {
+            long products = totals.products.sum();
+            if (products > 0) {
+                result.put(category, new CategoryTotals(totals.value.sum(), products, totals.lowStock.sum()));
+            }
+        });
+        return result;
+    }
+
+    private void add(CoffeeProduct.StockState state, int sign) {
+        overall.add(state, sign);
+        String category = state.category != null ? state.category : UNCATEGORIZED;
+        byCategory.computeIfAbsent(category, c -> new Totals()).add(state, sign);
+    }
+}
@@ -0,0 +1,292 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+/**
+ * Bulk import of products from CSV or JSON price lists. Rows are parsed
+ * and validated in parallel chunks; the valid ones are then merged into the
+ * inventory by product name with a single save. Existing products keep
+ * their stock on hand unless stock replacement is asked for. Rows that fail are kept
+ * with their line number and reason for the rejected-rows report.
+ *
+ * CSV files need a header row. Columns are matched by name, ignoring case
+ * and separators (name, category, total_cost, unit_size, unit, stock,
+ * min_stock, image_path); only name is required. JSON files hold an array
+ * of products in the inventory file format.
+ */
+public class InventoryImporter {
+    private static final int CHUNK_SIZE = 1000;
+
+    private final InventoryManager inventoryManager;
+
+    public InventoryImporter(InventoryManager inventoryManager) {
+        this.inventoryManager = inventoryManager;
+    }
+
+    public static class RejectedRow {
+        private final int line;
+        private final String reason;
+        private final String row;
+
+        RejectedRow(int line, String reason, String row) {
+            this.line = line;
+            this.reason = reason;
+            this.row = row;
+        }
+
+        public int getLine() { return line; }
+        public String getReason() { return reason; }
+        public String getRow() { return row; }
+    }
+
+    public static class ImportReport {
+        private final List<CoffeeProduct> accepted;
+        private final List<RejectedRow> rejected;
+        private int added;
+        private int updated;
+
+        ImportReport(List<CoffeeProduct> accepted, List<RejectedRow> rejected) {
+            this.accepted = accepted;
+            this.rejected = rejected;
+        }
+
+        public List<CoffeeProduct> getAccepted() { return accepted; }
+        public List<RejectedRow> getRejected() { return rejected; }
+        public int getAdded() { return added; }
+        public int getUpdated() { return updated; }
+
+        // Rejected rows as CSV: line, reason, original row
+        public void writeRejectedReport(File file) throws IOException {
+            try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                writer.write("line,reason,row\r\n");
+                for (RejectedRow row : rejected) {
+                    writer.write(row.getLine() + "," + quote(row.getReason()) + "," + quote(row.getRow()) + "\r\n");
+                }
+            }
+        }
+    }
+
+    // Parses and merges in one go; call parse() and apply() separately to keep the merge on the event thread
+    public ImportReport importFile(File file) throws IOException {
+        return apply(parse(file));
+    }
+
+    // Reads and validates the file; does not touch the inventory
+    public ImportReport parse(File file) throws IOException {
+        String name = file.getName().toLowerCase(Locale.ROOT);
+        return name.endsWith(".json") ? parseJson(file) : parseCsv(file);
+    }
+
+    // Upserts the accepted products by name and saves once, keeping the stock of existing products
+    public ImportReport apply(ImportReport report) {
+        return apply(report, false);
+    }
+
+    // As apply(report), but replaceStock also takes the stock of existing products from the file
+    public ImportReport apply(ImportReport report, boolean replaceStock) {
+        report.added = inventoryManager.importProducts(report.accepted, replaceStock);
+        report.updated = report.accepted.size() - report.added;
+        return report;
+    }
+
+    private ImportReport parseCsv(File file) throws IOException {
+        List<String> records = new ArrayList<>();
+        List<Integer> lineNumbers = new ArrayList<>();
+        splitRecords(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8), records, lineNumbers);
+        if (records.isEmpty()) {
+            throw new IOException("The file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = parseFields(stripBom(records.get(0)));
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(normalize(header.get(i)), i);
+        }
+        if (!columns.containsKey("name")) {
+            throw new IOException("The header row has no name column");
+        }
+        return parseChunks(records.size() - 1, (from, to, accepted, rejected) -> {
+            for (int i = from; i < to; i++) {
+                String record = records.get(i + 1);
+                int line = lineNumbers.get(i + 1);
+                if (record.trim().isEmpty()) continue;
+                try {
+                    accept(fromCsv(parseFields(record), columns), line, record, accepted, rejected);
+                } catch (IllegalArgumentException e) {
+                    rejected.add(new RejectedRow(line, e.getMessage(), record));
+                }
+            }
+        });
+    }
+
+    private ImportReport parseJson(File file) throws IOException {
+        JsonArray array;
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            JsonElement root = JsonParser.parseReader(reader);
+            if (!root.isJsonArray()) {
+                throw new IOException("Expected a JSON array of products");
+            }
+            array = root.getAsJsonArray();
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid JSON: " + e.getMessage(), e);
+        }
+        DataPersistence.CoffeeProductAdapter adapter = new DataPersistence.CoffeeProductAdapter();
+        return parseChunks(array.size(), (from, to, accepted, rejected) -> {
+            for (int i = from; i < to; i++) {
+                JsonElement element = array.get(i);
+                try {
+                    if (!element.isJsonObject()) {
+                        throw new IllegalArgumentException("Not a product object");
+                    }
+                    accept(adapter.fromJsonTree(element), i + 1, element.toString(), accepted, rejected);
+                } catch (RuntimeException e) {
+                    rejected.add(new RejectedRow(i + 1, "Invalid product: " + e.getMessage(), element.toString()));
+                }
+            }
+        });
+    }
+
+    private interface ChunkParser {
+        void parse(int from, int to, List<CoffeeProduct> accepted, List<RejectedRow> rejected);
+    }
+
+    // Runs the parser over chunks of rows in parallel and joins the results in file order
+    private static ImportReport parseChunks(int rows, ChunkParser parser) {
+        List<CompletableFuture<ImportReport>> chunks = new ArrayList<>();
+        for (int start = 0; start < rows; start += CHUNK_SIZE) {
+            int from = start;
+            int to = Math.min(rows, start + CHUNK_SIZE);
+            chunks.add(CompletableFuture.supplyAsync(() -> {
+                ImportReport chunk = new ImportReport(new ArrayList<>(), new ArrayList<>());
+                parser.parse(from, to, chunk.accepted, chunk.rejected);
+                return chunk;
+            }));
+        }
+        ImportReport report = new ImportReport(new ArrayList<>(rows), new ArrayList<>());
+        for (CompletableFuture<ImportReport> chunk : chunks) {
+            ImportReport done = chunk.join();
+            report.accepted.addAll(done.accepted);
+            report.rejected.addAll(done.rejected);
+        }
+        return report;
+    }
+
+    private static void accept(CoffeeProduct product, int line, String row,
+                               List<CoffeeProduct> accepted, List<RejectedRow> rejected) {
+        ValidationUtils.ValidationResult result = ValidationUtils.validateProduct(product);
+        if (result.isValid()) {
+            accepted.add(product);
+        } else {
+            rejected.add(new RejectedRow(line, result.getErrorMessage(), row));
+        }
+    }
+
+    private static CoffeeProduct fromCsv(List<String> fields, Map<String, Integer> columns) {
+        String name = text(fields, columns, "name");
+        return new CoffeeProduct(
+                name != null ? name.trim() : null,
+                text(fields, columns, "category"),
+                number(fields, columns, "totalcost"),
+                number(fields, columns, "unitsize"),
+                text(fields, columns, "unit"),
+                number(fields, columns, "stock"),
+                number(fields, columns, "minstock"),
+                text(fields, columns, "imagepath"));
+    }
+
+    private static String text(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) return null;
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static double number(List<String> fields, Map<String, Integer> columns, String column) {
+        String value = text(fields, columns, column);
+        if (value == null) return 0;
+        try {
+            return Double.parseDouble(value.replace(",", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in " + column + ": " + value);
+        }
+    }
+
+    // "Total Cost", "total_cost" and "totalCost" all become "totalcost"
+    private static String normalize(String column) {
+        return column.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static String stripBom(String s) {
+        return !s.isEmpty() && s.charAt(0) == '\uFEFF' ? s.substring(1) : s;
+    }
+
+    // Splits the text into records, keeping line breaks inside quoted fields
+    private static void splitRecords(String text, List<String> records, List<Integer> lineNumbers) {
+        int start = 0;
+        int line = 1;
+        int recordLine = 1;
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == '\n') {
+                line++;
+                if (!quoted) {
+                    int end = i > start && text.charAt(i - 1) == '\r' ? i - 1 : i;
+                    records.add(text.substring(start, end));
+                    lineNumbers.add(recordLine);
+                    start = i + 1;
+                    recordLine = line;
+                }
+            }
+        }
+        if (start < text.length()) {
+            records.add(text.substring(start));
+            lineNumbers.add(recordLine);
+        }
+    }
+
+    // RFC 4180 fields: commas separate, quotes wrap and "" is a literal quote
+    private static List<String> parseFields(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String quote(String value) {
+        if (value == null) return "";
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,176 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Binary snapshot of the inventory catalog (coffee_inventory.bin).
+ *
+ * Layout, big-endian:
+ *   header   magic, version, string count, product count (ints)
+ *   strings  length-prefixed UTF-8; names, categories, units, image paths
+ *            and ingredient names are stored once and referenced by index
+ *   products id (long, version 2 and later),
+ *            name, category, unit, image (string indexes, -1 for null),
+ *            totalCost, unitSize, stock, minStock (doubles),
+ *            lastUpdated (epoch millis), ingredient count,
+ *            then (string index, amount) per ingredient
+ *   trailer  CRC32 of everything before it
+ */
+final class InventorySnapshotCodec {
+    private static final int MAGIC = 0x43424953; // "CBIS"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 16;
+
+    private InventorySnapshotCodec() {
+    }
+
+    // Writes to a temporary file and renames it over the snapshot
+    static void write(File file, List<CoffeeProduct> products) throws IOException {
+        List<String> strings = new ArrayList<>();
+        Map<String, Integer> stringIds = new HashMap<>();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(products.size() * 72);
+        DataOutputStream out = new DataOutputStream(body);
+        for (CoffeeProduct p : products) {
+            out.writeLong(p.getId());
+            out.writeInt(intern(p.getName(), strings, stringIds));
+            out.writeInt(intern(p.getCategory(), strings, stringIds));
+            out.writeInt(intern(p.getUnit(), strings, stringIds));
+            out.writeInt(intern(p.getImagePath(), strings, stringIds));
+            out.writeDouble(p.getTotalCost());
+            out.writeDouble(p.getUnitSize());
+            out.writeDouble(p.getStock());
+            out.writeDouble(p.getMinStock());
+            out.writeLong(toEpochMillis(p.getLastUpdated()));
+            Map<String, Double> ingredients = p.getIngredients();
+            out.writeInt(ingredients.size());
+            for (Map.Entry<String, Double> ingredient : ingredients.entrySet()) {
+                out.writeInt(intern(ingredient.getKey(), strings, stringIds));
+                out.writeDouble(ingredient.getValue());
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE + body.size() + strings.size() * 16);
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(strings.size());
+        data.writeInt(products.size());
+        for (String s : strings) {
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            data.writeInt(utf8.length);
+            data.write(utf8);
+        }
+        body.writeTo(data);
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        data.writeInt((int) crc.getValue());
+
+        File tmp = new File(file.getPath() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        if (!tmp.renameTo(file)) {
+            file.delete();
+            if (!tmp.renameTo(file)) {
+                throw new IOException("Could not replace " + file);
+            }
+        }
+    }
+
+    // Reads the whole file into one buffer and decodes it from there
+    static List<CoffeeProduct> read(File file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE + 4 || size > Integer.MAX_VALUE) {
+                throw new IOException("Bad inventory snapshot size: " + size);
+            }
+            buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // A regular file normally fills the buffer in one read
+            }
+        }
+        buffer.flip();
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.limit() - 4);
+        if ((int) crc.getValue() != buffer.getInt(buffer.limit() - 4)) {
+            throw new IOException("Inventory snapshot checksum mismatch");
+        }
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not an inventory snapshot: " + file);
+        }
+        int version = buffer.getInt();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported inventory snapshot version " + version);
+        }
+        String[] strings = new String[buffer.getInt()];
+        int productCount = buffer.getInt();
+        for (int i = 0; i < strings.length; i++) {
+            int length = buffer.getInt();
+            strings[i] = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        }
+
+        List<CoffeeProduct> products = new ArrayList<>(productCount);
+        for (int i = 0; i < productCount; i++) {
+            long id = version >= 2 ? buffer.getLong() : 0;
+            String name = string(strings, buffer.getInt());
+            String category = string(strings, buffer.getInt());
+            String unit = string(strings, buffer.getInt());
+            String imagePath = string(strings, buffer.getInt());
+            double totalCost = buffer.getDouble();
+            double unitSize = buffer.getDouble();
+            double stock = buffer.getDouble();
+            double minStock = buffer.getDouble();
+            LocalDateTime lastUpdated = toDateTime(buffer.getLong());
+            int ingredientCount = buffer.getInt();
+            Map<String, Double> ingredients = new HashMap<>(Math.max(4, ingredientCount * 2));
+            for (int j = 0; j < ingredientCount; j++) {
+                ingredients.put(string(strings, buffer.getInt()), buffer.getDouble());
+            }
+            CoffeeProduct product = new CoffeeProduct(name, category, totalCost, unitSize, unit, stock, minStock, imagePath);
+            product.restoreState(lastUpdated, ingredients);
+            product.setId(id);
+            products.add(product);
+        }
+        return products;
+    }
+
+    private static int intern(String s, List<String> strings, Map<String, Integer> stringIds) {
+        if (s == null) return -1;
+        Integer id = stringIds.get(s);
+        if (id == null) {
+            id = strings.size();
+            strings.add(s);
+            stringIds.put(s, id);
+        }
+        return id;
+    }
+
+    private static String string(String[] strings, int id) {
+        return id < 0 ? null : strings[id];
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
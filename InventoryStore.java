@@ -0,0 +1,47 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Storage backend used by InventoryManager and EnhancedRecipeManager.
+ */
+public interface InventoryStore {
+    List<CoffeeProduct> loadInventory();
+
+    // Replaces the stored catalog with the given list; a write the store rejects throws an unchecked exception
+    void saveInventory(List<CoffeeProduct> products);
+
+    // Replaces the stored catalog with one restored from a backup
+    default void saveRestoredInventory(List<CoffeeProduct> products) { saveInventory(products); }
+
+    // Stores only the given changes on top of what is already saved; removed maps names to the time of removal.
+    // Like saveInventory, throws if the store rejects them
+    void appendInventoryChanges(Collection<CoffeeProduct> changed, Map<String, Long> removed);
+
+    // Change records written since the last full save; 0 if the backend never needs one
+    default int getInventoryChangeCount() { return 0; }
+
+    default CoffeeProduct findProduct(String name) {
+        return loadInventory().stream()
+                .filter(p -> p.getName().equals(name))
+                .findFirst()
+                .orElse(null);
+    }
+
+    default List<CoffeeProduct> findProductsByCategory(String category) {
+        return loadInventory().stream()
+                .filter(p -> category.equals(p.getCategory()))
+                .collect(Collectors.toList());
+    }
+
+    // Folder for files kept next to the data, such as id leases
+    default File getDataDirectory() { return StorageBackends.dataDirectory(); }
+
+    Map<String, Recipe> loadRecipes();
+
+    void saveRecipes(Map<String, Recipe> recipes);
+}
@@ -0,0 +1,266 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs many tills against the same few products at once. Each till mixes
+ * checkouts (reserve a small bill of materials, then commit or release it)
+ * with restocks, usage and edits through updateProduct, which also move
+ * products between categories and across their minimum stock. Meanwhile
+ * one thread keeps saving and another keeps reading the dashboard figures
+ * and iterating the catalog.
+ *
+ * Afterwards every product must have exactly its starting stock plus what
+ * was added minus what was taken, with no units left reserved. The value,
+ * low-stock count and category totals kept by InventoryAggregates must
+ * match figures recomputed from the products. The saved catalog must load
+ * back with the same stock. Quantities are whole units, so stock compares
+ * exactly; values are compared to a cent.
+ * Run with optional arguments: [threads] [products] [operations per thread]
+ */
+public class InventoryStressCheck {
+    private static final double START_STOCK = 100_000;
+    private static final double UNIT_SIZE = 250;
+    private static final double COST_PER_UNIT = 10;
+    private static final String[] CATEGORIES = {"Stress A", "Stress B"};
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int productCount = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int operations = args.length > 2 ? Integer.parseInt(args[2]) : 20000;
+
+        File dir = Files.createTempDirectory("cbm-stress").toFile();
+        InventoryManager manager = new InventoryManager(new DataPersistence(dir.getPath(), true));
+        for (int i = 0; i < productCount; i++) {
+            manager.addProduct(new CoffeeProduct("Stress " + i, CATEGORIES[i % 2], START_STOCK * COST_PER_UNIT,
+                    UNIT_SIZE, "g", START_STOCK, 10, null));
+        }
+        // Units added and taken per product; stock must end at START_STOCK + added - taken
+        Map<String, LongAdder> added = new ConcurrentHashMap<>();
+        Map<String, LongAdder> taken = new ConcurrentHashMap<>();
+        AtomicInteger shortages = new AtomicInteger();
+        AtomicInteger saves = new AtomicInteger();
+        AtomicInteger reads = new AtomicInteger();
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 2);
+        Future<?> saver = pool.submit(() -> {
+            while (running.get()) {
+                if (saves.incrementAndGet() % 20 == 0) {
+                    manager.saveSnapshot();
+                } else {
+                    manager.saveInventory();
+                }
+                Thread.sleep(1);
+            }
+            return null;
+        });
+        Future<?> dashboard = pool.submit(() -> {
+            while (running.get()) {
+                double value = 0;
+                for (CoffeeProduct product : manager.getProducts()) {
+                    value += product.getTotalCost();
+                }
+                manager.getTotalInventoryValue();
+                manager.getLowStockCount();
+                manager.getCategoryTotals();
+                manager.getLowStockProducts();
+                if (value < 0) throw new IllegalStateException("Negative inventory value " + value);
+                reads.incrementAndGet();
+            }
+            return null;
+        });
+        List<Future<?>> tills = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            tills.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < operations; i++) {
+                    String name = "Stress " + random.nextInt(productCount);
+                    CoffeeProduct product = manager.findProduct(name);
+                    long units = 1 + random.nextInt(3);
+                    switch (random.nextInt(8)) {
+                        case 5:
+                            product.addStock(units * UNIT_SIZE, units * COST_PER_UNIT);
+                            count(added, name, units);
+                            break;
+                        case 6:
+                            // Usage stops at zero, so count what it actually took
+                            synchronized (product) {
+                                double before = product.getStock();
+                                product.reduceStock(units * UNIT_SIZE);
+                                count(taken, name, (long) (before - product.getStock()));
+                            }
+                            break;
+                        case 7:
+                            CoffeeProduct base = product.copy();
+                            CoffeeProduct edited = product.copy();
+                            edited.setStock(base.getStock() + units);
+                            edited.setTotalCost(base.getTotalCost() + units * COST_PER_UNIT);
+                            // Either side of the stock, so products keep crossing into and out of low stock
+                            edited.setMinStock(random.nextBoolean() ? 10 : START_STOCK * 2);
+                            edited.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                            manager.updateProduct(product, base, edited);
+                            count(added, name, units);
+                            break;
+                        default:
+                            checkout(manager, random, productCount, taken, shortages);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> till : tills) {
+            till.get();
+        }
+        running.set(false);
+        saver.get();
+        dashboard.get();
+        pool.shutdown();
+        long elapsed = System.nanoTime() - start;
+
+        int failures = 0;
+        for (CoffeeProduct product : manager.getProducts()) {
+            double expected = START_STOCK + sum(added, product.getName()) - sum(taken, product.getName());
+            double reserved = product.getStock() - product.getAvailableStock();
+            if (product.getStock() != expected || reserved != 0) {
+                System.out.printf("%s: stock %.0f, expected %.0f, still reserved %.0f%n",
+                        product.getName(), product.getStock(), expected, reserved);
+                failures++;
+            }
+        }
+        failures += checkAggregates(manager);
+        System.out.printf("%d threads x %d operations on %d products in %.1f ms, %d shortages, %d saves, %d dashboard reads%n",
+                threads, operations, productCount, elapsed / 1e6, shortages.get(), saves.get(), reads.get());
+
+        manager.saveInventory().join();
+        PersistenceExecutor.shared().flush();
+        Map<String, Double> saved = new HashMap<>();
+        for (CoffeeProduct product : new DataPersistence(dir.getPath(), true).loadInventory()) {
+            saved.put(product.getName(), product.getStock());
+        }
+        for (CoffeeProduct product : manager.getProducts()) {
+            if (!Double.valueOf(product.getStock()).equals(saved.get(product.getName()))) {
+                System.out.printf("%s: stock %.0f, saved %s%n", product.getName(), product.getStock(), saved.get(product.getName()));
+                failures++;
+            }
+        }
+        deleteRecursively(dir);
+        if (failures > 0) {
+            throw new IllegalStateException(failures + " figures drifted");
+        }
+        System.out.println("Stock, reservations, dashboard totals and the saved catalog add up");
+    }
+
+    // Reserves a small bill of materials, then commits or releases it
+    private static void checkout(InventoryManager manager, Random random, int productCount,
+                                 Map<String, LongAdder> taken, AtomicInteger shortages) {
+        Map<String, Double> bill = new LinkedHashMap<>();
+        for (int line = 1 + random.nextInt(3); line > 0; line--) {
+            bill.merge("Stress " + random.nextInt(productCount), 1.0 + random.nextInt(3), Double::sum);
+        }
+        StockReservation reservation;
+        try {
+            reservation = manager.reserve(bill, 0);
+        } catch (StockReservation.InsufficientStockException e) {
+            shortages.incrementAndGet();
+            return;
+        }
+        if (random.nextInt(3) == 0) {
+            reservation.release();
+            return;
+        }
+        try {
+            reservation.commit();
+        } catch (StockReservation.InsufficientStockException e) {
+            // Usage took the held units in the meantime
+            reservation.release();
+            shortages.incrementAndGet();
+            return;
+        }
+        bill.forEach((name, units) -> count(taken, name, units.longValue()));
+    }
+
+    // Compares the running totals with figures recomputed from the products
+    private static int checkAggregates(InventoryManager manager) {
+        double value = 0;
+        long lowStock = 0;
+        Map<String, double[]> categories = new HashMap<>();  // value, products, low stock
+        for (CoffeeProduct product : manager.getProducts()) {
+            boolean low = product.getStock() <= product.getMinStock();
+            value += product.getTotalCost();
+            if (low) lowStock++;
+            double[] totals = categories.computeIfAbsent(product.getCategory(), c -> new double[3]);
+            totals[0] += product.getTotalCost();
+            totals[1]++;
+            if (low) totals[2]++;
+        }
+        int failures = 0;
+        if (!sameValue(manager.getTotalInventoryValue(), value)) {
+            System.out.printf("inventory value %.2f, expected %.2f%n", manager.getTotalInventoryValue(), value);
+            failures++;
+        }
+        if (manager.getLowStockCount() != lowStock) {
+            System.out.printf("low stock count %d, expected %d%n", manager.getLowStockCount(), lowStock);
+            failures++;
+        }
+        Map<String, InventoryAggregates.CategoryTotals> kept = manager.getCategoryTotals();
+        if (!kept.keySet().equals(categories.keySet())) {
+            System.out.printf("categories %s, expected %s%n", kept.keySet(), categories.keySet());
+            failures++;
+        }
+        for (Map.Entry<String, double[]> entry : categories.entrySet()) {
+            InventoryAggregates.CategoryTotals totals = kept.get(entry.getKey());
+            double[] expected = entry.getValue();
+            if (totals == null || !sameValue(totals.getValue(), expected[0])
+                    || totals.getProducts() != (long) expected[1] || totals.getLowStock() != (long) expected[2]) {
+                System.out.printf("%s: totals %s, expected value %.2f, %d products, %d low%n", entry.getKey(),
+                        totals == null ? "missing" : String.format("value %.2f, %d products, %d low",
+                                totals.getValue(), totals.getProducts(), totals.getLowStock()),
+                        expected[0], (long) expected[1], (long) expected[2]);
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    // Cost is split pro rata on every deduction, so sums are only equal to rounding
+    private static boolean sameValue(double actual, double expected) {
+        return Math.abs(actual - expected) < 0.01;
+    }
+
+    private static void count(Map<String, LongAdder> counts, String name, long units) {
+        counts.computeIfAbsent(name, n -> new LongAdder()).add(units);
+    }
+
+    private static double sum(Map<String, LongAdder> counts, String name) {
+        LongAdder units = counts.get(name);
+        return units != null ? units.sum() : 0;
+    }
+
+    // The data directory also holds the id leases
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
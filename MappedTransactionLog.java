@@ -0,0 +1,348 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transaction backend for busy branches. Every line item is one fixed-width
+ * record in a memory-mapped file; product names, payment methods and cashiers
+ * are interned into a side dictionary (path + ".names").
+ *
+ * Record layout (64 bytes):
+ *   0 txId, 8 epochMillis, 16 itemId, 24 productId (longs)
+ *   32 nameId, 36 paymentId, 40 cashierId (ints)
+ *   44 itemIndex, 46 itemCount (unsigned shorts, so at most 65535 items per transaction)
+ *   48 qty, 56 unitPrice (doubles)
+ * A transaction without items is stored as one record with itemCount 0.
+ */
+public class MappedTransactionLog implements TransactionStore, Closeable {
+    private static final int MAGIC = 0x43424D54; // "CBMT"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;   // magic, version, record count
+    private static final int RECORD_SIZE = 64;
+    private static final int INITIAL_CAPACITY = 4096;
+    private static final int MAX_ITEMS = 0xFFFF;
+
+    /** Receives scanned line items without materializing Transaction objects. */
+    public interface ItemVisitor {
+        void visit(long txId, long epochMillis, String productName, double qty, double unitPrice);
+    }
+
+    private final File file;
+    private final File namesFile;
+    private RandomAccessFile raf;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long recordCount;
+
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private FileOutputStream namesStream;
+    private DataOutputStream namesOut;
+
+    public MappedTransactionLog(String path) throws IOException {
+        this.file = new File(path);
+        this.namesFile = new File(path + ".names");
+        boolean existing = file.exists() && file.length() >= HEADER_SIZE;
+        this.raf = new RandomAccessFile(file, "rw");
+        this.channel = raf.getChannel();
+
+        long capacity = existing ? (file.length() - HEADER_SIZE) / RECORD_SIZE : INITIAL_CAPACITY;
+        map(Math.max(capacity, INITIAL_CAPACITY));
+
+        if (existing) {
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a transaction log: " + file);
+            }
+            recordCount = buffer.getLong(8);
+        } else {
+            writeHeader();
+        }
+        loadNames();
+    }
+
+    @Override
+    public File getDataDirectory() {
+        return file.getAbsoluteFile().getParentFile();
+    }
+
+    @Override
+    public synchronized List<Transaction> loadTransactions() {
+        List<Transaction> transactions = new ArrayList<>();
+        Transaction current = null;
+        long currentId = 0;
+        for (long i = 0; i < recordCount; i++) {
+            int pos = position(i);
+            long txId = buffer.getLong(pos);
+            int itemIndex = buffer.getShort(pos + 44) & 0xFFFF;
+            if (current == null || itemIndex == 0 || txId != currentId) {
+                current = new Transaction();
+                current.setId(txId);
+                current.setTimestamp(toDateTime(buffer.getLong(pos + 8)));
+                current.setPaymentMethod(name(buffer.getInt(pos + 36)));
+                current.setCashier(name(buffer.getInt(pos + 40)));
+                transactions.add(current);
+                currentId = txId;
+            }
+            if (buffer.getShort(pos + 46) != 0) {
+                TransactionItem item = new TransactionItem(buffer.getLong(pos + 24), name(buffer.getInt(pos + 32)),
+                        buffer.getDouble(pos + 48), buffer.getDouble(pos + 56));
+                item.setId(buffer.getLong(pos + 16));
+                current.addItem(item);
+            }
+        }
+        return transactions;
+    }
+
+    @Override
+    public synchronized void appendTransaction(Transaction tx) {
+        try {
+            checkItemCounts(List.of(tx));
+            writeRecords(tx);
+            buffer.putLong(8, recordCount);
+            buffer.force();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized void appendTransactions(List<Transaction> batch) throws IOException {
+        checkItemCounts(batch);
+        for (Transaction tx : batch) {
+            writeRecords(tx);
+        }
+        buffer.putLong(8, recordCount);
+        buffer.force();
+    }
+
+    /**
+     * Replaces the log with the given transactions. They are written to a
+     * temporary file that is renamed over the log once complete, so a crash
+     * leaves either the old log or the new one.
+     */
+    @Override
+    public synchronized void saveTransactions(List<Transaction> transactions) {
+        File tmp = new File(file.getPath() + ".tmp");
+        RandomAccessFile oldRaf = raf;
+        FileChannel oldChannel = channel;
+        MappedByteBuffer oldBuffer = buffer;
+        long oldCount = recordCount;
+        try {
+            checkItemCounts(transactions);
+            long records = 0;
+            for (Transaction tx : transactions) {
+                records += Math.max(tx.getItems().size(), 1);
+            }
+            tmp.delete();
+            raf = new RandomAccessFile(tmp, "rw");
+            channel = raf.getChannel();
+            map(Math.max(records, INITIAL_CAPACITY));
+            writeHeader();
+            recordCount = 0;
+            for (Transaction tx : transactions) {
+                writeRecords(tx);
+            }
+            buffer.putLong(8, recordCount);
+            buffer.force();
+            channel.close();
+            raf.close();
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            oldChannel.close();
+            oldRaf.close();
+            // The mapping stays valid; later growth maps through a channel on the renamed file
+            raf = new RandomAccessFile(file, "rw");
+            channel = raf.getChannel();
+        } catch (IOException e) {
+            e.printStackTrace();
+            if (raf != oldRaf) {
+                try {
+                    raf.close();
+                } catch (IOException ignored) {
+                    // Closing the abandoned temporary file
+                }
+                tmp.delete();
+            }
+            raf = oldRaf;
+            channel = oldChannel;
+            buffer = oldBuffer;
+            recordCount = oldCount;
+        }
+    }
+
+    /**
+     * Visits every line item with a timestamp in [from, to]. Records are
+     * appended in checkout order, so the start is found by binary search.
+     */
+    public synchronized void forEachItem(LocalDateTime from, LocalDateTime to, ItemVisitor visitor) {
+        long fromMillis = toEpochMillis(from);
+        long toMillis = toEpochMillis(to);
+        for (long i = firstRecordAtOrAfter(fromMillis); i < recordCount; i++) {
+            int pos = position(i);
+            long millis = buffer.getLong(pos + 8);
+            if (millis > toMillis) break;
+            if (buffer.getShort(pos + 46) == 0) continue;
+            visitor.visit(buffer.getLong(pos), millis, name(buffer.getInt(pos + 32)),
+                    buffer.getDouble(pos + 48), buffer.getDouble(pos + 56));
+        }
+    }
+
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        if (namesOut != null) namesOut.close();
+        channel.close();
+        raf.close();
+    }
+
+    // Checked for the whole batch before anything is written, so a rejected batch leaves the log as it was
+    private static void checkItemCounts(List<Transaction> batch) throws IOException {
+        for (Transaction tx : batch) {
+            if (tx.getItems().size() > MAX_ITEMS) {
+                throw new IOException("Transaction " + tx.getId() + " has " + tx.getItems().size()
+                        + " items; the mapped log holds at most " + MAX_ITEMS);
+            }
+        }
+    }
+
+    private void writeRecords(Transaction tx) throws IOException {
+        long millis = toEpochMillis(tx.getTimestamp());
+        int paymentId = intern(tx.getPaymentMethod());
+        int cashierId = intern(tx.getCashier());
+        List<TransactionItem> items = tx.getItems();
+        int count = Math.max(items.size(), 1);
+        ensureCapacity(recordCount + count);
+
+        for (int i = 0; i < count; i++) {
+            int pos = position(recordCount);
+            buffer.putLong(pos, tx.getId());
+            buffer.putLong(pos + 8, millis);
+            buffer.putInt(pos + 36, paymentId);
+            buffer.putInt(pos + 40, cashierId);
+            buffer.putShort(pos + 44, (short) i);
+            buffer.putShort(pos + 46, (short) items.size());
+            if (items.isEmpty()) {
+                buffer.putLong(pos + 16, 0);
+                buffer.putLong(pos + 24, 0);
+                buffer.putInt(pos + 32, -1);
+                buffer.putDouble(pos + 48, 0);
+                buffer.putDouble(pos + 56, 0);
+            } else {
+                TransactionItem item = items.get(i);
+                buffer.putLong(pos + 16, item.getId());
+                buffer.putLong(pos + 24, item.getProductId());
+                buffer.putInt(pos + 32, intern(item.getProductName()));
+                buffer.putDouble(pos + 48, item.getQty());
+                buffer.putDouble(pos + 56, item.getUnitPrice());
+            }
+            recordCount++;
+        }
+    }
+
+    private long firstRecordAtOrAfter(long millis) {
+        long lo = 0, hi = recordCount;
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+            if (buffer.getLong(position(mid) + 8) < millis) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private void ensureCapacity(long records) throws IOException {
+        long capacity = (buffer.capacity() - HEADER_SIZE) / RECORD_SIZE;
+        if (records <= capacity) return;
+        while (capacity < records) capacity *= 2;
+        buffer.force();
+        map(capacity);
+    }
+
+    private void map(long capacity) throws IOException {
+        long size = HEADER_SIZE + capacity * RECORD_SIZE;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Transaction log is full: " + file);
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    private void writeHeader() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, 0);
+    }
+
+    private static int position(long record) {
+        return (int) (HEADER_SIZE + record * RECORD_SIZE);
+    }
+
+    // Dictionary handling
+    private void loadNames() throws IOException {
+        if (namesFile.exists()) {
+            byte[] bytes = Files.readAllBytes(namesFile.toPath());
+            ByteArrayInputStream source = new ByteArrayInputStream(bytes);
+            DataInputStream in = new DataInputStream(source);
+            long intact = 0;
+            try {
+                while (source.available() > 0) {
+                    String name = in.readUTF();
+                    nameIds.put(name, names.size());
+                    names.add(name);
+                    intact = bytes.length - source.available();
+                }
+            } catch (EOFException | UTFDataFormatException e) {
+                System.err.println("Name dictionary " + namesFile + " truncated after " + names.size() + " names");
+            }
+            if (intact < bytes.length) {
+                // Cut off the torn entry so names appended from now on get the ids records expect
+                try (RandomAccessFile dictionary = new RandomAccessFile(namesFile, "rw")) {
+                    dictionary.setLength(intact);
+                }
+            }
+        }
+        namesStream = new FileOutputStream(namesFile, true);
+        namesOut = new DataOutputStream(new BufferedOutputStream(namesStream));
+    }
+
+    private int intern(String name) throws IOException {
+        if (name == null) return -1;
+        Integer id = nameIds.get(name);
+        if (id != null) return id;
+        // The name must be durable before any record points at it
+        namesOut.writeUTF(name);
+        namesOut.flush();
+        namesStream.getFD().sync();
+        int newId = names.size();
+        names.add(name);
+        nameIds.put(name, newId);
+        return newId;
+    }
+
+    private String name(int id) {
+        return id < 0 || id >= names.size() ? null : names.get(id);
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,197 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.io.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Keeps one journaled segment per business day (yyyy-MM-dd.dat) plus a small
+ * manifest of days and record counts. Only today's segment is loaded at
+ * startup; older days are read on demand and not kept in memory.
+ */
+public class PartitionedTransactionStore implements TransactionStore {
+    private static final String MANIFEST_FILE = "manifest.properties";
+
+    private final File directory;
+    private final File manifestFile;
+    private final LocalDate today;
+    private final TreeMap<LocalDate, Integer> manifest = new TreeMap<>();
+    // Segments written during this session
+    private final Map<LocalDate, TransactionPersistence> openSegments = new HashMap<>();
+
+    public PartitionedTransactionStore(String directory) {
+        this(directory, null);
+    }
+
+    // Splits a legacy single-file store into day segments on first use
+    public PartitionedTransactionStore(String directory, String legacyFile) {
+        this.directory = new File(directory);
+        this.manifestFile = new File(this.directory, MANIFEST_FILE);
+        this.today = LocalDate.now();
+        this.directory.mkdirs();
+        loadManifest();
+        if (legacyFile != null && !manifestFile.exists()) {
+            migrateLegacy(new File(legacyFile));
+        }
+    }
+
+    @Override
+    public synchronized List<Transaction> loadTransactions() {
+        return segment(today).loadTransactions();
+    }
+
+    // The segments folder sits in the data directory
+    @Override
+    public File getDataDirectory() {
+        return directory.getAbsoluteFile().getParentFile();
+    }
+
+    @Override
+    public LocalDate firstResidentDay() {
+        return today;
+    }
+
+    @Override
+    public synchronized List<Transaction> loadTransactions(LocalDate from, LocalDate to) {
+        List<Transaction> result = new ArrayList<>();
+        for (LocalDate day : manifest.subMap(from, true, to, true).keySet()) {
+            TransactionPersistence open = openSegments.get(day);
+            result.addAll(open != null ? open.loadTransactions() : new TransactionPersistence(segmentPath(day)).loadTransactions());
+        }
+        return result;
+    }
+
+    // Reads the day segments one after another; only one record is held at a time
+    @Override
+    public void forEachTransaction(LocalDate from, LocalDate to, Consumer<Transaction> action) {
+        List<LocalDate> days;
+        synchronized (this) {
+            days = new ArrayList<>(manifest.subMap(from, true, to, true).keySet());
+        }
+        for (LocalDate day : days) {
+            new TransactionPersistence(segmentPath(day)).forEachStored(action);
+        }
+    }
+
+    // Taken from the manifest, without reading any segment
+    @Override
+    public synchronized int countTransactions(LocalDate from, LocalDate to) {
+        int count = 0;
+        for (int records : manifest.subMap(from, true, to, true).values()) {
+            count += records;
+        }
+        return count;
+    }
+
+    @Override
+    public synchronized void appendTransaction(Transaction tx) {
+        try {
+            appendTransactions(Collections.singletonList(tx));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized void appendTransactions(List<Transaction> batch) throws IOException {
+        for (Map.Entry<LocalDate, List<Transaction>> entry : byDay(batch).entrySet()) {
+            segment(entry.getKey()).appendTransactions(entry.getValue());
+            manifest.merge(entry.getKey(), entry.getValue().size(), Integer::sum);
+        }
+        saveManifest();
+    }
+
+    @Override
+    public synchronized void saveTransactions(List<Transaction> transactions) {
+        for (LocalDate day : new ArrayList<>(manifest.keySet())) {
+            new File(segmentPath(day)).delete();
+            new File(segmentPath(day) + ".journal").delete();
+        }
+        manifest.clear();
+        openSegments.clear();
+        writeSegments(byDay(transactions));
+    }
+
+    @Override
+    public synchronized boolean needsCompaction() {
+        return openSegments.values().stream().anyMatch(TransactionPersistence::needsCompaction);
+    }
+
+    // Compacts each open segment from the in-memory transactions of its day
+    @Override
+    public synchronized void compact(List<Transaction> transactions) {
+        Map<LocalDate, List<Transaction>> days = byDay(transactions);
+        for (Map.Entry<LocalDate, TransactionPersistence> entry : openSegments.entrySet()) {
+            if (entry.getValue().needsCompaction()) {
+                entry.getValue().compact(days.getOrDefault(entry.getKey(), Collections.emptyList()));
+            }
+        }
+    }
+
+    public synchronized SortedSet<LocalDate> getDays() {
+        return new TreeSet<>(manifest.keySet());
+    }
+
+    private TransactionPersistence segment(LocalDate day) {
+        return openSegments.computeIfAbsent(day, d -> new TransactionPersistence(segmentPath(d)));
+    }
+
+    private void writeSegments(Map<LocalDate, List<Transaction>> days) {
+        for (Map.Entry<LocalDate, List<Transaction>> entry : days.entrySet()) {
+            new TransactionPersistence(segmentPath(entry.getKey())).saveTransactions(entry.getValue());
+            manifest.put(entry.getKey(), entry.getValue().size());
+        }
+        saveManifest();
+    }
+
+    private void migrateLegacy(File legacy) {
+        if (!legacy.exists() && !new File(legacy.getPath() + ".journal").exists()) return;
+        List<Transaction> all = new TransactionPersistence(legacy.getPath()).loadTransactions();
+        writeSegments(byDay(all));
+        legacy.renameTo(new File(legacy.getPath() + ".migrated"));
+        new File(legacy.getPath() + ".journal").renameTo(new File(legacy.getPath() + ".journal.migrated"));
+        System.out.println("Migrated " + all.size() + " transactions into " + manifest.size() + " day segments");
+    }
+
+    private String segmentPath(LocalDate day) {
+        return new File(directory, day + ".dat").getPath();
+    }
+
+    private static Map<LocalDate, List<Transaction>> byDay(List<Transaction> transactions) {
+        Map<LocalDate, List<Transaction>> days = new TreeMap<>();
+        for (Transaction tx : transactions) {
+            days.computeIfAbsent(tx.getTimestamp().toLocalDate(), d -> new ArrayList<>()).add(tx);
+        }
+        return days;
+    }
+
+    private void loadManifest() {
+        if (!manifestFile.exists()) return;
+        Properties props = new Properties();
+        try (Reader reader = new FileReader(manifestFile)) {
+            props.load(reader);
+            for (String day : props.stringPropertyNames()) {
+                manifest.put(LocalDate.parse(day), Integer.parseInt(props.getProperty(day)));
+            }
+        } catch (Exception e) {
+            System.err.println("Error reading transaction manifest: " + e.getMessage());
+        }
+    }
+
+    private void saveManifest() {
+        Properties props = new Properties();
+        manifest.forEach((day, count) -> props.setProperty(day.toString(), String.valueOf(count)));
+        File tmp = new File(directory, MANIFEST_FILE + ".tmp");
+        try (Writer writer = new FileWriter(tmp)) {
+            props.store(writer, "Transaction segments: day=records");
+        } catch (IOException e) {
+            System.err.println("Error saving transaction manifest: " + e.getMessage());
+            return;
+        }
+        if (!tmp.renameTo(manifestFile)) {
+            manifestFile.delete();
+            tmp.renameTo(manifestFile);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind executor shared by the managers. Writes run one at a time on
+ * a background thread so the Swing event thread never waits on the disk.
+ * A write submitted under a key that is still queued replaces the queued
+ * one, so a burst of saves for the same file turns into a single write.
+ * Writes can also be debounced: submitDelayed waits until saves for a key
+ * have stopped for a moment before queueing the last one. Everything queued
+ * or waiting is flushed when the JVM shuts down.
+ */
+public final class PersistenceExecutor {
+    private static final PersistenceExecutor SHARED = new PersistenceExecutor();
+
+    /** Notified on the writer or caller thread whenever the pending count changes. */
+    public interface PendingWritesListener {
+        void pendingWritesChanged(int pendingWrites);
+    }
+
+    private final ExecutorService writer;
+    private final ScheduledExecutorService timer;
+    private final Map<Object, PendingWrite> queued = new LinkedHashMap<>();
+    private final Map<Object, Debounced> debounced = new HashMap<>();
+    private final List<PendingWritesListener> listeners = new CopyOnWriteArrayList<>();
+    private int pendingWrites;
+
+    private PersistenceExecutor() {
+        writer = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "persistence-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "persistence-debounce");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "persistence-flush"));
+    }
+
+    public static PersistenceExecutor shared() {
+        return SHARED;
+    }
+
+    /**
+     * Queues a write. If a write for the same key has not started yet it is
+     * replaced by this one and both callers get the same future.
+     */
+    public CompletableFuture<Void> submit(Object key, Runnable write) {
+        PendingWrite pending;
+        synchronized (this) {
+            PendingWrite existing = queued.get(key);
+            if (existing != null) {
+                existing.write = write;
+                return existing.future;
+            }
+            pending = new PendingWrite(write);
+            queued.put(key, pending);
+            pendingWrites++;
+            writer.execute(() -> run(key));
+        }
+        firePendingWritesChanged();
+        return pending.future;
+    }
+
+    /**
+     * Queues the write once no other write for the key has been submitted
+     * for delayMillis. Each call restarts the wait and replaces the write.
+     */
+    public void submitDelayed(Object key, Runnable write, long delayMillis) {
+        boolean added;
+        synchronized (this) {
+            Debounced previous = debounced.remove(key);
+            if (previous != null) previous.timer.cancel(false);
+            Debounced next = new Debounced(write);
+            next.timer = timer.schedule(() -> fireDebounced(key, next), delayMillis, TimeUnit.MILLISECONDS);
+            debounced.put(key, next);
+            added = previous == null;
+        }
+        if (added) firePendingWritesChanged();
+    }
+
+    // Blocks until every write queued or waiting so far has finished
+    public void flush() {
+        List<Map.Entry<Object, Debounced>> waiting;
+        synchronized (this) {
+            waiting = new ArrayList<>(debounced.entrySet());
+        }
+        for (Map.Entry<Object, Debounced> entry : waiting) {
+            entry.getValue().timer.cancel(false);
+            fireDebounced(entry.getKey(), entry.getValue());
+        }
+        try {
+            writer.submit(() -> { }).get(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Error flushing pending writes: " + e.getMessage());
+        }
+    }
+
+    public synchronized int getPendingWrites() {
+        return pendingWrites + debounced.size();
+    }
+
+    public void addPendingWritesListener(PendingWritesListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removePendingWritesListener(PendingWritesListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Moves a debounced write to the queue unless a newer one replaced it
+    private void fireDebounced(Object key, Debounced entry) {
+        synchronized (this) {
+            if (debounced.get(key) != entry) return;
+            debounced.remove(key);
+        }
+        submit(key, entry.write);
+    }
+
+    private void run(Object key) {
+        PendingWrite pending;
+        synchronized (this) {
+            pending = queued.remove(key);
+        }
+        try {
+            pending.write.run();
+            pending.future.complete(null);
+        } catch (Exception e) {
+            e.printStackTrace();
+            pending.future.completeExceptionally(e);
+        } finally {
+            synchronized (this) {
+                pendingWrites--;
+            }
+            firePendingWritesChanged();
+        }
+    }
+
+    private void firePendingWritesChanged() {
+        int count = getPendingWrites();
+        for (PendingWritesListener listener : listeners) {
+            listener.pendingWritesChanged(count);
+        }
+    }
+
+    private static class Debounced {
+        final Runnable write;
+        ScheduledFuture<?> timer;
+
+        Debounced(Runnable write) {
+            this.write = write;
+        }
+    }
+
+    private static class PendingWrite {
+        Runnable write;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        PendingWrite(Runnable write) {
+            this.write = write;
+        }
+    }
+}
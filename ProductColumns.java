@@ -0,0 +1,117 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * The numeric state of the catalog stored column by column: stock, total
+ * cost, unit size, minimum stock and last update each live in primitive
+ * arrays indexed by the product's slot, instead of as fields spread over
+ * one object per product. Columns are split into fixed-size pages, so
+ * growing the catalog never copies existing rows and a product's page
+ * stays put until it is removed. Removing a product moves the last row
+ * into its slot, keeping the slots dense for scans.
+ *
+ * A CoffeeProduct reads and writes its own row under its own lock; this
+ * class only takes its lock to add or remove rows, and then locks the
+ * products whose rows it moves.
+ */
+class ProductColumns {
+    private static final int PAGE_SIZE = 1024;
+
+    private Page[] pages = new Page[0];   // guarded by this
+    private int size;                     // guarded by this
+
+    /**
+     * One page of rows. A product outside any catalog has a page of its
+     * own with a single row and no columns.
+     */
+    static final class Page {
+        final double[] stock;
+        final double[] totalCost;
+        final double[] unitSize;
+        final double[] minStock;
+        final long[] lastUpdated;
+        final CoffeeProduct[] owners;
+        final ProductColumns columns;
+        final int base;  // slot of the first row
+
+        Page(ProductColumns columns, int base, int rows) {
+            this.columns = columns;
+            this.base = base;
+            stock = new double[rows];
+            totalCost = new double[rows];
+            unitSize = new double[rows];
+            minStock = new double[rows];
+            lastUpdated = new long[rows];
+            owners = columns != null ? new CoffeeProduct[rows] : null;
+        }
+
+        static Page detached() {
+            return new Page(null, 0, 1);
+        }
+    }
+
+    // Moves the product's values into a new row at the end
+    synchronized void bind(CoffeeProduct product) {
+        ProductColumns current = product.columns();
+        if (current == this) return;
+        if (current != null) current.unbind(product);
+        int slot = size++;
+        if (slot / PAGE_SIZE == pages.length) {
+            pages = Arrays.copyOf(pages, pages.length + 1);
+            pages[pages.length - 1] = new Page(this, slot, PAGE_SIZE);
+        }
+        Page page = pages[slot / PAGE_SIZE];
+        product.moveTo(page, slot % PAGE_SIZE);
+        page.owners[slot % PAGE_SIZE] = product;
+    }
+
+    // Gives the product its values back in a row of its own and fills the gap with the last row
+    synchronized void unbind(CoffeeProduct product) {
+        if (product.columns() != this) return;
+        int slot = product.slot();
+        product.moveTo(Page.detached(), 0);
+        int last = --size;
+        Page lastPage = pages[last / PAGE_SIZE];
+        CoffeeProduct moved = lastPage.owners[last % PAGE_SIZE];
+        lastPage.owners[last % PAGE_SIZE] = null;
+        if (slot != last) {
+            Page page = pages[slot / PAGE_SIZE];
+            moved.moveTo(page, slot % PAGE_SIZE);
+            page.owners[slot % PAGE_SIZE] = moved;
+        }
+        if (last % PAGE_SIZE == 0) {
+            pages = Arrays.copyOf(pages, pages.length - 1);
+        }
+    }
+
+    // Unbinds every product, e.g. before the catalog is reloaded
+    synchronized void clear() {
+        for (int slot = size - 1; slot >= 0; slot--) {
+            pages[slot / PAGE_SIZE].owners[slot % PAGE_SIZE].moveTo(Page.detached(), 0);
+        }
+        pages = new Page[0];
+        size = 0;
+    }
+
+    synchronized int size() { return size; }
+
+    /**
+     * Passes every product at or below its minimum stock to the action,
+     * scanning the stock and minimum columns page by page. Products are not
+     * locked, so one changing during the scan may be seen either side of
+     * the change.
+     */
+    synchronized void forEachLowStock(Consumer<CoffeeProduct> action) {
+        for (int p = 0; p < pages.length; p++) {
+            Page page = pages[p];
+            int rows = Math.min(PAGE_SIZE, size - page.base);
+            for (int row = 0; row < rows; row++) {
+                if (page.stock[row] <= page.minStock[row]) {
+                    action.accept(page.owners[row]);
+                }
+            }
+        }
+    }
+}
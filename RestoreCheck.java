@@ -0,0 +1,85 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs a point-in-time restore end to end in a scratch data directory:
+ * takes a backup, makes a good restock, notes the time, then enters a bad
+ * restock, adds a junk product and sells some stock. Restoring to the noted
+ * time must keep the good restock, drop the bad entry and the junk product,
+ * deduct the sale again, and leave the same catalog on disk for the next
+ * start.
+ */
+public class RestoreCheck {
+    public static void main(String[] args) throws Exception {
+        File dir = Files.createTempDirectory("cbm-restore").toFile();
+        DataPersistence store = new DataPersistence(dir.getPath(), true);
+        InventoryManager inventory = new InventoryManager(store);
+        inventory.addProduct(new CoffeeProduct("Beans", "Coffee", 500, 250, "g", 40, 5, null));
+        inventory.addProduct(new CoffeeProduct("Milk", "Dairy", 120, 1000, "ml", 20, 3, null));
+        PersistenceExecutor.shared().flush();
+        BackupManager backups = new BackupManager(new File(dir, "backups").getPath(), dir.getPath());
+        check("backup taken", backups.createBackup() != null, true);
+
+        Thread.sleep(20);
+        setStock(inventory, "Milk", 30);
+        Thread.sleep(20);
+        LocalDateTime target = LocalDateTime.now();
+        Thread.sleep(20);
+        setStock(inventory, "Beans", 4000);
+        inventory.addProduct(new CoffeeProduct("Junk", "Coffee", 1, 1, "g", 1, 0, null));
+
+        TransactionManager transactions = new TransactionManager(
+                new TransactionPersistence(new File(dir, "transactions.dat").getPath()),
+                new IdAllocator(new File(dir, "ids/transaction.seq")), new IdAllocator(new File(dir, "ids/item.seq")));
+        Transaction sale = new Transaction();
+        sale.addItem(new TransactionItem(inventory.findProduct("Beans").getId(), "Beans", 3, 25));
+        sale.recalcTotal();
+        transactions.addTransaction(sale).join();
+
+        new RestoreEngine(store, backups).restoreInventory(target, inventory, transactions);
+
+        check("products in memory", stockByName(inventory.getProducts()), Map.of("Beans", 37.0, "Milk", 30.0));
+        check("products on disk", stockByName(new DataPersistence(dir.getPath(), true).loadInventory()),
+                Map.of("Beans", 37.0, "Milk", 30.0));
+        deleteRecursively(dir);
+        System.out.println("Restore to " + target + " kept the good restock and dropped the bad one");
+    }
+
+    private static void setStock(InventoryManager inventory, String name, double stock) {
+        CoffeeProduct product = inventory.findProduct(name);
+        CoffeeProduct base = product.copy();
+        CoffeeProduct edited = product.copy();
+        edited.setStock(stock);
+        inventory.updateProduct(product, base, edited);
+    }
+
+    private static Map<String, Double> stockByName(List<CoffeeProduct> products) {
+        Map<String, Double> stock = new HashMap<>();
+        for (CoffeeProduct product : products) {
+            stock.put(product.getName(), product.getStock());
+        }
+        return stock;
+    }
+
+    private static void check(String what, Object actual, Object expected) {
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException(what + ": expected " + expected + " but got " + actual);
+        }
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,147 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Point-in-time restore of the inventory. Starts from the newest backup
+ * taken at or before the target time and replays the inventory change logs
+ * (live and archived) up to that time. Only records written after the
+ * backup was cut are replayed: archived logs in the backup are skipped and
+ * the log that was live then is read from the length the backup holds.
+ * Transactions are never touched, and sales made after the target time can
+ * be deducted again so the stock they used is not handed back.
+ *
+ * Works with the file backend; the SQL backend keeps no change log.
+ */
+public class RestoreEngine {
+    private static final String CHANGES_FILE = "coffee_inventory.changes";
+    private static final String JOURNAL_PREFIX = "inventory_journal/";
+
+    private final DataPersistence dataPersistence;
+    private final BackupManager backupManager;
+
+    public RestoreEngine(DataPersistence dataPersistence, BackupManager backupManager) {
+        this.dataPersistence = dataPersistence;
+        this.backupManager = backupManager;
+    }
+
+    // The catalog as it was at the given time
+    public List<CoffeeProduct> inventoryAt(LocalDateTime target) throws IOException {
+        // Make sure every change queued so far is in the logs
+        PersistenceExecutor.shared().flush();
+
+        String base = nearestBackup(target);
+        if (base == null) {
+            throw new IOException("No backup taken before " + target);
+        }
+        Map<String, CoffeeProduct> byName = new LinkedHashMap<>();
+        File staging = Files.createTempDirectory("micow-restore").toFile();
+        try {
+            backupManager.restoreBackup(base, staging, name -> name.startsWith("coffee_inventory"));
+            for (CoffeeProduct product : new DataPersistence(staging.getPath(), true).loadInventory()) {
+                byName.put(product.getName(), product);
+            }
+        } finally {
+            deleteRecursively(staging);
+        }
+
+        long until = toEpochMillis(target);
+        Map<String, String> manifest = backupManager.readManifest(base);
+        if (manifest.isEmpty()) {
+            // Folder backups from older versions only carry their time
+            long after = toEpochMillis(BackupManager.backupTime(base));
+            for (File log : dataPersistence.getInventoryChangeLogs()) {
+                DataPersistence.replayChangeLog(log, 0, after, until, byName);
+            }
+            return new ArrayList<>(byName.values());
+        }
+        String backedUpChanges = manifest.get(CHANGES_FILE);
+        long offset = backedUpChanges != null ? backupManager.objectFile(backedUpChanges).length() : 0;
+        for (File log : dataPersistence.getInventoryChangeLogs()) {
+            boolean live = log.getName().equals(CHANGES_FILE);
+            if (!live && manifest.containsKey(JOURNAL_PREFIX + log.getName())) {
+                continue;  // archived before the backup, so already in it
+            }
+            // The first log not in the backup is the one that was live when it was taken
+            DataPersistence.replayChangeLog(log, offset, Long.MIN_VALUE, until, byName);
+            offset = 0;
+        }
+        return new ArrayList<>(byName.values());
+    }
+
+    /**
+     * Replaces the stored inventory with its state at the target time and
+     * reloads the manager. If txManager is given, sales recorded after the
+     * target are deducted from the restored stock again. The restored
+     * catalog is written through the persistence writer, so no write queued
+     * before the restore can land on top of it; returns once it is written.
+     */
+    public void restoreInventory(LocalDateTime target, InventoryManager inventory, TransactionManager txManager)
+            throws IOException {
+        List<CoffeeProduct> products = inventoryAt(target);
+        if (txManager != null) {
+            Map<String, CoffeeProduct> byName = new LinkedHashMap<>();
+            for (CoffeeProduct product : products) {
+                byName.put(product.getName(), product);
+            }
+            for (Transaction tx : txManager.getTransactions(target.toLocalDate(), LocalDateTime.now().toLocalDate())) {
+                if (!tx.getTimestamp().isAfter(target)) continue;
+                for (TransactionItem item : tx.getItems()) {
+                    CoffeeProduct product = byName.get(item.getProductName());
+                    if (product != null) {
+                        // Sold quantities are stock units, as deducted at checkout
+                        product.deductUnits(item.getQty());
+                    }
+                }
+            }
+        }
+        // The snapshot moves the current log, bad entry included, into the journal;
+        // the restore record keeps later replays from bringing that entry back
+        CompletableFuture<Void> written = inventory != null
+                ? inventory.restoreInventory(products)
+                : PersistenceExecutor.shared().submit(dataPersistence, () -> dataPersistence.saveRestoredInventory(products));
+        try {
+            written.join();
+        } catch (CompletionException e) {
+            throw new IOException("Could not save the restored inventory", e.getCause());
+        }
+    }
+
+    private String nearestBackup(LocalDateTime target) {
+        for (String name : backupManager.getAvailableBackups()) {
+            try {
+                if (!BackupManager.backupTime(name).isAfter(target)) {
+                    return name;
+                }
+            } catch (DateTimeParseException e) {
+                // Folder with a name we did not write
+            }
+        }
+        return null;
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,579 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.sql.*;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Embedded database backend for inventory, recipes and transactions. Works
+ * with any in-process JDBC database on a local file, e.g.
+ * "jdbc:h2:./micow_data" or "jdbc:sqlite:micow_data.db"; the driver jar
+ * only has to be on the classpath.
+ *
+ * Transactions are indexed by timestamp and line items by product name, so
+ * day ranges and product reports are answered by the database instead of a
+ * scan over everything in memory. Only today's transactions are loaded at
+ * startup. Products are keyed by their id; their names are unique ignoring
+ * case and surrounding spaces, and looked up the same way. Saves that the
+ * database rejects are rolled back and thrown to the caller.
+ */
+public class SqlStore implements InventoryStore, TransactionStore, Closeable {
+    private static final String[] SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS products (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+            + "name_key VARCHAR(255) NOT NULL, category VARCHAR(255), total_cost DOUBLE, unit_size DOUBLE, "
+            + "unit VARCHAR(64), stock DOUBLE, min_stock DOUBLE, image_path VARCHAR(1024), last_updated BIGINT)",
+        "CREATE UNIQUE INDEX IF NOT EXISTS idx_products_name_key ON products (name_key)",
+        "CREATE INDEX IF NOT EXISTS idx_products_category ON products (category, name)",
+        "CREATE TABLE IF NOT EXISTS product_ingredients (product_id BIGINT, ingredient VARCHAR(255), "
+            + "amount DOUBLE, PRIMARY KEY (product_id, ingredient))",
+        "CREATE TABLE IF NOT EXISTS recipes (name VARCHAR(255) PRIMARY KEY, category VARCHAR(255), data VARCHAR(65535))",
+        "CREATE TABLE IF NOT EXISTS transactions (seq BIGINT PRIMARY KEY, id BIGINT, ts BIGINT, total DOUBLE, "
+            + "payment_method VARCHAR(64), cashier VARCHAR(255))",
+        "CREATE INDEX IF NOT EXISTS idx_transactions_ts ON transactions (ts)",
+        "CREATE TABLE IF NOT EXISTS transaction_items (tx_seq BIGINT, item_index INT, id BIGINT, product_id BIGINT, "
+            + "product_name VARCHAR(255), qty DOUBLE, unit_price DOUBLE, PRIMARY KEY (tx_seq, item_index))",
+        "CREATE INDEX IF NOT EXISTS idx_items_product ON transaction_items (product_name, tx_seq)"
+    };
+
+    private static final String SELECT_PRODUCTS =
+        "SELECT name, category, total_cost, unit_size, unit, stock, min_stock, image_path, last_updated, id FROM products";
+    private static final String SELECT_TRANSACTIONS =
+        "SELECT t.seq, t.id, t.ts, t.total, t.payment_method, t.cashier, "
+            + "i.id, i.product_id, i.product_name, i.qty, i.unit_price "
+            + "FROM transactions t LEFT JOIN transaction_items i ON i.tx_seq = t.seq "
+            + "WHERE t.ts >= ? AND t.ts < ? AND t.seq BETWEEN ? AND ? ORDER BY t.seq, i.item_index";
+    private static final String SELECT_TRANSACTION_PAGE =
+        "SELECT seq FROM transactions WHERE ts >= ? AND ts < ? AND seq > ? ORDER BY seq";
+    private static final int TRANSACTION_PAGE_SIZE = 500;
+
+    private final Connection connection;
+    private final LocalDate residentDay;
+    private long nextSeq;
+
+    public SqlStore(String url) throws SQLException {
+        connection = DriverManager.getConnection(url);
+        residentDay = LocalDate.now();
+        try (Statement st = connection.createStatement()) {
+            // Tables from before the id key are moved aside and copied below
+            if (canQuery(st, "SELECT * FROM products WHERE 1 = 0")
+                    && !canQuery(st, "SELECT name_key FROM products WHERE 1 = 0")) {
+                st.execute("ALTER TABLE products RENAME TO products_v1");
+            }
+            if (canQuery(st, "SELECT * FROM product_ingredients WHERE 1 = 0")
+                    && !canQuery(st, "SELECT product_id FROM product_ingredients WHERE 1 = 0")) {
+                st.execute("ALTER TABLE product_ingredients RENAME TO product_ingredients_v1");
+            }
+            for (String ddl : SCHEMA) {
+                st.execute(ddl);
+            }
+            try (ResultSet rs = st.executeQuery("SELECT MAX(seq) FROM transactions")) {
+                nextSeq = rs.next() ? rs.getLong(1) + 1 : 1;
+            }
+            connection.setAutoCommit(false);
+            if (canQuery(st, "SELECT * FROM products_v1 WHERE 1 = 0")) {
+                migrateProducts(st);
+            }
+        }
+        connection.commit();
+    }
+
+    private static boolean canQuery(Statement st, String sql) {
+        try {
+            st.executeQuery(sql).close();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Copies products keyed by name, as the first releases stored them, into
+     * the id-keyed tables. Rows without an id get one after the highest
+     * stored id; of names that only differ in case the most recently updated
+     * row is kept. The old tables are dropped once the copy is committed, so
+     * an interrupted migration starts over on the next open.
+     */
+    private void migrateProducts(Statement st) throws SQLException {
+        try {
+            st.execute("ALTER TABLE products_v1 ADD COLUMN id BIGINT");
+        } catch (SQLException e) {
+            // Column already present
+        }
+        connection.commit();
+        st.executeUpdate("DELETE FROM product_ingredients");
+        st.executeUpdate("DELETE FROM products");
+
+        Map<String, CoffeeProduct> byKey = new LinkedHashMap<>();
+        Map<String, CoffeeProduct> byName = new HashMap<>();
+        long maxId = 0;
+        try (ResultSet rs = st.executeQuery("SELECT name, category, total_cost, unit_size, unit, stock, "
+                + "min_stock, image_path, last_updated, id FROM products_v1 ORDER BY last_updated DESC, name")) {
+            while (rs.next()) {
+                CoffeeProduct product = readProduct(rs);
+                if (byKey.putIfAbsent(InventoryManager.normalizeName(product.getName()), product) != null) {
+                    System.err.println("Dropping duplicate product " + product.getName() + " while migrating");
+                    continue;
+                }
+                byName.put(product.getName(), product);
+                maxId = Math.max(maxId, product.getId());
+            }
+        }
+        Set<Long> usedIds = new HashSet<>();
+        for (CoffeeProduct product : byKey.values()) {
+            if (product.getId() <= 0 || !usedIds.add(product.getId())) {
+                product.setId(++maxId);
+                usedIds.add(product.getId());
+            }
+        }
+        if (canQuery(st, "SELECT * FROM product_ingredients_v1 WHERE 1 = 0")) {
+            Map<String, Map<String, Double>> ingredients = new HashMap<>();
+            try (ResultSet rs = st.executeQuery("SELECT product_name, ingredient, amount FROM product_ingredients_v1")) {
+                while (rs.next()) {
+                    ingredients.computeIfAbsent(rs.getString(1), k -> new HashMap<>()).put(rs.getString(2), rs.getDouble(3));
+                }
+            }
+            ingredients.forEach((name, amounts) -> {
+                CoffeeProduct product = byName.get(name);
+                if (product != null) product.restoreState(product.getLastUpdated(), amounts);
+            });
+        }
+        insertProducts(byKey.values());
+        connection.commit();
+        st.execute("DROP TABLE IF EXISTS product_ingredients_v1");
+        st.execute("DROP TABLE products_v1");
+    }
+
+    // Id leases stay in the local data directory
+    @Override
+    public File getDataDirectory() {
+        return StorageBackends.dataDirectory();
+    }
+
+    // Inventory
+    @Override
+    public synchronized List<CoffeeProduct> loadInventory() {
+        try {
+            return queryProducts("");
+        } catch (SQLException e) {
+            System.err.println("Error loading inventory: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public synchronized CoffeeProduct findProduct(String name) {
+        try {
+            List<CoffeeProduct> found = queryProducts(" WHERE name_key = ?", InventoryManager.normalizeName(name));
+            return found.isEmpty() ? null : found.get(0);
+        } catch (SQLException e) {
+            System.err.println("Error looking up product: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized List<CoffeeProduct> findProductsByCategory(String category) {
+        try {
+            return queryProducts(" WHERE category = ?", category);
+        } catch (SQLException e) {
+            System.err.println("Error loading category: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    // Throws IllegalStateException if the database rejects the catalog, e.g. for a duplicate name
+    @Override
+    public synchronized void saveInventory(List<CoffeeProduct> products) {
+        try (Statement st = connection.createStatement()) {
+            st.executeUpdate("DELETE FROM product_ingredients");
+            st.executeUpdate("DELETE FROM products");
+            insertProducts(products);
+            connection.commit();
+        } catch (SQLException e) {
+            rollback();
+            throw new IllegalStateException("Error saving inventory: " + e.getMessage(), e);
+        }
+    }
+
+    // Removed products go by name, changed ones by id, so a rename replaces its old row
+    @Override
+    public synchronized void appendInventoryChanges(Collection<CoffeeProduct> changed, Map<String, Long> removed) {
+        try {
+            deleteProducts(removed.keySet(), changed);
+            insertProducts(changed);
+            connection.commit();
+        } catch (SQLException e) {
+            rollback();
+            throw new IllegalStateException("Error saving inventory changes: " + e.getMessage(), e);
+        }
+    }
+
+    // Recipes are stored as one JSON document per row
+    @Override
+    public synchronized Map<String, Recipe> loadRecipes() {
+        Map<String, Recipe> recipes = new HashMap<>();
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT name, data FROM recipes")) {
+            while (rs.next()) {
+                recipes.put(rs.getString(1), DataPersistence.RECIPE_ADAPTER.fromJson(rs.getString(2)));
+            }
+        } catch (SQLException | IOException e) {
+            System.err.println("Error loading recipes: " + e.getMessage());
+        }
+        return recipes;
+    }
+
+    @Override
+    public synchronized void saveRecipes(Map<String, Recipe> recipes) {
+        try (Statement st = connection.createStatement();
+             PreparedStatement insert = connection.prepareStatement(
+                 "INSERT INTO recipes (name, category, data) VALUES (?, ?, ?)")) {
+            st.executeUpdate("DELETE FROM recipes");
+            for (Map.Entry<String, Recipe> entry : recipes.entrySet()) {
+                insert.setString(1, entry.getKey());
+                insert.setString(2, entry.getValue().getCategory());
+                insert.setString(3, DataPersistence.RECIPE_ADAPTER.toJson(entry.getValue()));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            rollback();
+            throw new IllegalStateException("Error saving recipes: " + e.getMessage(), e);
+        }
+    }
+
+    // Transactions
+    @Override
+    public List<Transaction> loadTransactions() {
+        LocalDate today = firstResidentDay();
+        return loadTransactions(today, today);
+    }
+
+    @Override
+    public LocalDate firstResidentDay() {
+        return residentDay;
+    }
+
+    @Override
+    public List<Transaction> loadTransactions(LocalDate from, LocalDate to) {
+        List<Transaction> transactions = new ArrayList<>();
+        forEachTransaction(from, to, transactions::add);
+        return transactions;
+    }
+
+    /**
+     * Reads the range a page of transactions at a time. The connection is
+     * released between pages so checkouts are not held up by a long export.
+     */
+    @Override
+    public void forEachTransaction(LocalDate from, LocalDate to, Consumer<Transaction> action) {
+        long fromMillis = toEpochMillis(from.atStartOfDay());
+        long toMillis = toEpochMillis(to.plusDays(1).atStartOfDay());
+        long afterSeq = -1;
+        while (true) {
+            List<Transaction> page = new ArrayList<>();
+            try {
+                afterSeq = readTransactionPage(fromMillis, toMillis, afterSeq, page);
+            } catch (SQLException e) {
+                System.err.println("Error loading transactions: " + e.getMessage());
+                return;
+            }
+            if (page.isEmpty()) return;
+            page.forEach(action);
+        }
+    }
+
+    @Override
+    public synchronized int countTransactions(LocalDate from, LocalDate to) {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT COUNT(*) FROM transactions WHERE ts >= ? AND ts < ?")) {
+            ps.setLong(1, toEpochMillis(from.atStartOfDay()));
+            ps.setLong(2, toEpochMillis(to.plusDays(1).atStartOfDay()));
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error counting transactions: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    // Fills the page with the next transactions after afterSeq and returns the last seq read
+    private synchronized long readTransactionPage(long fromMillis, long toMillis, long afterSeq, List<Transaction> page)
+            throws SQLException {
+        long firstSeq;
+        long lastSeq;
+        try (PreparedStatement ps = connection.prepareStatement(SELECT_TRANSACTION_PAGE)) {
+            ps.setMaxRows(TRANSACTION_PAGE_SIZE);
+            ps.setLong(1, fromMillis);
+            ps.setLong(2, toMillis);
+            ps.setLong(3, afterSeq);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return afterSeq;
+                firstSeq = rs.getLong(1);
+                lastSeq = firstSeq;
+                while (rs.next()) {
+                    lastSeq = rs.getLong(1);
+                }
+            }
+        }
+        try (PreparedStatement ps = connection.prepareStatement(SELECT_TRANSACTIONS)) {
+            ps.setLong(1, fromMillis);
+            ps.setLong(2, toMillis);
+            ps.setLong(3, firstSeq);
+            ps.setLong(4, lastSeq);
+            try (ResultSet rs = ps.executeQuery()) {
+                Transaction current = null;
+                long currentSeq = -1;
+                while (rs.next()) {
+                    long seq = rs.getLong(1);
+                    if (current == null || seq != currentSeq) {
+                        current = new Transaction();
+                        current.setId(rs.getLong(2));
+                        current.setTimestamp(toDateTime(rs.getLong(3)));
+                        current.setTotal(rs.getDouble(4));
+                        current.setPaymentMethod(rs.getString(5));
+                        current.setCashier(rs.getString(6));
+                        page.add(current);
+                        currentSeq = seq;
+                    }
+                    String productName = rs.getString(9);
+                    if (productName != null) {
+                        TransactionItem item = new TransactionItem(rs.getLong(8), productName, rs.getDouble(10), rs.getDouble(11));
+                        item.setId(rs.getLong(7));
+                        current.getItems().add(item);
+                    }
+                }
+            }
+        }
+        return lastSeq;
+    }
+
+    /**
+     * Quantity sold per product between two business days, computed by the
+     * database through the product index.
+     */
+    public synchronized Map<String, Double> quantitySoldByProduct(LocalDate from, LocalDate to) {
+        Map<String, Double> totals = new TreeMap<>();
+        String sql = "SELECT i.product_name, SUM(i.qty) FROM transaction_items i "
+            + "JOIN transactions t ON t.seq = i.tx_seq WHERE t.ts >= ? AND t.ts < ? GROUP BY i.product_name";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, toEpochMillis(from.atStartOfDay()));
+            ps.setLong(2, toEpochMillis(to.plusDays(1).atStartOfDay()));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    totals.put(rs.getString(1), rs.getDouble(2));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error summarizing sales: " + e.getMessage());
+        }
+        return totals;
+    }
+
+    @Override
+    public void appendTransaction(Transaction tx) {
+        try {
+            appendTransactions(Collections.singletonList(tx));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // One database transaction per batch
+    @Override
+    public synchronized void appendTransactions(List<Transaction> batch) throws IOException {
+        long firstSeq = nextSeq;
+        try {
+            insertTransactions(batch);
+            connection.commit();
+        } catch (SQLException e) {
+            rollback();
+            nextSeq = firstSeq;
+            throw new IOException("Error saving transactions: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void saveTransactions(List<Transaction> transactions) {
+        try (Statement st = connection.createStatement()) {
+            st.executeUpdate("DELETE FROM transaction_items");
+            st.executeUpdate("DELETE FROM transactions");
+            nextSeq = 1;
+            insertTransactions(transactions);
+            connection.commit();
+        } catch (SQLException e) {
+            rollback();
+            System.err.println("Error saving transactions: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+    }
+
+    // Products matching the where clause, with their ingredients
+    private List<CoffeeProduct> queryProducts(String where, String... params) throws SQLException {
+        Map<Long, CoffeeProduct> byId = new LinkedHashMap<>();
+        try (PreparedStatement ps = connection.prepareStatement(SELECT_PRODUCTS + where + " ORDER BY name")) {
+            setStrings(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    CoffeeProduct product = readProduct(rs);
+                    byId.put(product.getId(), product);
+                }
+            }
+        }
+        if (byId.isEmpty()) return new ArrayList<>();
+
+        Map<Long, Map<String, Double>> ingredients = new HashMap<>();
+        try (PreparedStatement ps = connection.prepareStatement("SELECT product_id, ingredient, amount "
+                + "FROM product_ingredients WHERE product_id IN (SELECT id FROM products" + where + ")")) {
+            setStrings(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ingredients.computeIfAbsent(rs.getLong(1), k -> new HashMap<>()).put(rs.getString(2), rs.getDouble(3));
+                }
+            }
+        }
+        for (Map.Entry<Long, Map<String, Double>> entry : ingredients.entrySet()) {
+            CoffeeProduct product = byId.get(entry.getKey());
+            product.restoreState(product.getLastUpdated(), entry.getValue());
+        }
+        return new ArrayList<>(byId.values());
+    }
+
+    // One row of SELECT_PRODUCTS, without ingredients
+    private static CoffeeProduct readProduct(ResultSet rs) throws SQLException {
+        CoffeeProduct product = new CoffeeProduct(rs.getString(1), rs.getString(2), rs.getDouble(3),
+                rs.getDouble(4), rs.getString(5), rs.getDouble(6), rs.getDouble(7), rs.getString(8));
+        product.restoreState(toDateTime(rs.getLong(9)), null);
+        product.setId(rs.getLong(10));
+        return product;
+    }
+
+    private static void setStrings(PreparedStatement ps, String... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            ps.setString(i + 1, params[i]);
+        }
+    }
+
+    private void insertProducts(Collection<CoffeeProduct> products) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                 "INSERT INTO products (name, category, total_cost, unit_size, unit, stock, min_stock, image_path, "
+                     + "last_updated, id, name_key) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement insertIngredient = connection.prepareStatement(
+                 "INSERT INTO product_ingredients (product_id, ingredient, amount) VALUES (?, ?, ?)")) {
+            for (CoffeeProduct p : products) {
+                insert.setString(1, p.getName());
+                insert.setString(2, p.getCategory());
+                insert.setDouble(3, p.getTotalCost());
+                insert.setDouble(4, p.getUnitSize());
+                insert.setString(5, p.getUnit());
+                insert.setDouble(6, p.getStock());
+                insert.setDouble(7, p.getMinStock());
+                insert.setString(8, p.getImagePath());
+                insert.setLong(9, toEpochMillis(p.getLastUpdated()));
+                insert.setLong(10, p.getId());
+                insert.setString(11, InventoryManager.normalizeName(p.getName()));
+                insert.addBatch();
+                for (Map.Entry<String, Double> ingredient : p.getIngredients().entrySet()) {
+                    insertIngredient.setLong(1, p.getId());
+                    insertIngredient.setString(2, ingredient.getKey());
+                    insertIngredient.setDouble(3, ingredient.getValue());
+                    insertIngredient.addBatch();
+                }
+            }
+            insert.executeBatch();
+            insertIngredient.executeBatch();
+        }
+    }
+
+    private void deleteProducts(Collection<String> names, Collection<CoffeeProduct> products) throws SQLException {
+        try (PreparedStatement deleteIngredientsByName = connection.prepareStatement(
+                 "DELETE FROM product_ingredients WHERE product_id IN (SELECT id FROM products WHERE name = ?)");
+             PreparedStatement deleteByName = connection.prepareStatement("DELETE FROM products WHERE name = ?");
+             PreparedStatement deleteIngredients = connection.prepareStatement(
+                 "DELETE FROM product_ingredients WHERE product_id = ?");
+             PreparedStatement delete = connection.prepareStatement("DELETE FROM products WHERE id = ?")) {
+            for (String name : names) {
+                deleteIngredientsByName.setString(1, name);
+                deleteIngredientsByName.addBatch();
+                deleteByName.setString(1, name);
+                deleteByName.addBatch();
+            }
+            for (CoffeeProduct product : products) {
+                deleteIngredients.setLong(1, product.getId());
+                deleteIngredients.addBatch();
+                delete.setLong(1, product.getId());
+                delete.addBatch();
+            }
+            deleteIngredientsByName.executeBatch();
+            deleteByName.executeBatch();
+            deleteIngredients.executeBatch();
+            delete.executeBatch();
+        }
+    }
+
+    private void insertTransactions(List<Transaction> transactions) throws SQLException {
+        try (PreparedStatement insertTx = connection.prepareStatement(
+                 "INSERT INTO transactions (seq, id, ts, total, payment_method, cashier) VALUES (?, ?, ?, ?, ?, ?)");
+             PreparedStatement insertItem = connection.prepareStatement(
+                 "INSERT INTO transaction_items (tx_seq, item_index, id, product_id, product_name, qty, unit_price) "
+                     + "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (Transaction tx : transactions) {
+                long seq = nextSeq++;
+                insertTx.setLong(1, seq);
+                insertTx.setLong(2, tx.getId());
+                insertTx.setLong(3, toEpochMillis(tx.getTimestamp()));
+                insertTx.setDouble(4, tx.getTotal());
+                insertTx.setString(5, tx.getPaymentMethod());
+                insertTx.setString(6, tx.getCashier());
+                insertTx.addBatch();
+                List<TransactionItem> items = tx.getItems();
+                for (int i = 0; i < items.size(); i++) {
+                    TransactionItem item = items.get(i);
+                    insertItem.setLong(1, seq);
+                    insertItem.setInt(2, i);
+                    insertItem.setLong(3, item.getId());
+                    insertItem.setLong(4, item.getProductId());
+                    insertItem.setString(5, item.getProductName());
+                    insertItem.setDouble(6, item.getQty());
+                    insertItem.setDouble(7, item.getUnitPrice());
+                    insertItem.addBatch();
+                }
+            }
+            insertTx.executeBatch();
+            insertItem.executeBatch();
+        }
+    }
+
+    private void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,91 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Round-trips products, recipes and transactions through SqlStore against a
+ * real database and fails on the first mismatch. Needs the JDBC driver for
+ * the URL on the classpath, e.g. H2 or SQLite; the tables are created in an
+ * empty database, so point it at a scratch one.
+ * Run with optional arguments: [jdbc url] [transactions]
+ */
+public class SqlStoreCheck {
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "jdbc:h2:./sqlstore-check";
+        int txCount = args.length > 1 ? Integer.parseInt(args[1]) : 1200;
+
+        try (SqlStore store = new SqlStore(url)) {
+            CoffeeProduct milk = new CoffeeProduct("Milk", "Dairy", 120, 1000, "ml", 12, 3, null);
+            milk.setId(1);
+            milk.restoreState(null, Map.of("Water", 1.5));
+            CoffeeProduct beans = new CoffeeProduct("Beans", "Coffee", 500, 250, "g", 4, 5, null);
+            beans.setId(2);
+            store.saveInventory(List.of(milk, beans));
+            CoffeeProduct sugar = new CoffeeProduct("Sugar", "Dry", 10, 1, "g", 100, 5, null);
+            sugar.setId(3);
+            store.appendInventoryChanges(List.of(sugar), Map.of("Beans", System.currentTimeMillis()));
+
+            List<CoffeeProduct> products = store.loadInventory();
+            check("products after change", products.size(), 2);
+            CoffeeProduct loaded = store.findProduct(" milk ");
+            check("milk stock", loaded.getStock(), 12.0);
+            check("milk id", loaded.getId(), 1L);
+            check("milk ingredients", loaded.getIngredients(), Map.of("Water", 1.5));
+            check("products in Dry", store.findProductsByCategory("Dry").size(), 1);
+
+            // Renamed in place: the old row goes with the rename
+            CoffeeProduct renamed = store.findProduct("Sugar");
+            renamed.setName("SUGAR");
+            store.appendInventoryChanges(List.of(renamed), Map.of("Sugar", System.currentTimeMillis()));
+            check("renamed product", store.findProduct("sugar").getName(), "SUGAR");
+            CoffeeProduct twin = new CoffeeProduct("MILK", "Dairy", 1, 1, "ml", 1, 0, null);
+            twin.setId(4);
+            boolean rejected = false;
+            try {
+                store.appendInventoryChanges(List.of(twin), Map.of());
+            } catch (IllegalStateException e) {
+                rejected = true;
+            }
+            check("duplicate name rejected", rejected, true);
+            check("products after rejected save", store.loadInventory().size(), 2);
+
+            Recipe latte = new Recipe("Latte", "Hot Drinks");
+            latte.addIngredient(new RecipeIngredient("Milk", 200, "ml"));
+            store.saveRecipes(Map.of("Latte", latte));
+            check("recipe ingredients", store.loadRecipes().get("Latte").getIngredients().size(), 1);
+
+            LocalDate today = LocalDate.now();
+            List<Transaction> batch = new ArrayList<>();
+            for (int i = 1; i <= txCount; i++) {
+                Transaction tx = new Transaction();
+                tx.setId(i);
+                tx.setTimestamp(LocalDateTime.now().minusDays(i % 3));
+                tx.addItem(new TransactionItem(1, "Milk", 2, 30));
+                tx.addItem(new TransactionItem(3, "Sugar", 1, 5));
+                tx.recalcTotal();
+                batch.add(tx);
+            }
+            store.appendTransactions(batch);
+            int[] streamed = {0};
+            store.forEachTransaction(today.minusDays(5), today, tx -> streamed[0]++);
+            check("streamed transactions", streamed[0], txCount);
+            check("counted transactions", store.countTransactions(today.minusDays(5), today), txCount);
+            check("milk sold", store.quantitySoldByProduct(today.minusDays(5), today).get("Milk"), 2.0 * txCount);
+            check("items per transaction", store.loadTransactions(today, today).get(0).getItems().size(), 2);
+        }
+        try (SqlStore store = new SqlStore(url)) {
+            check("products after reopen", store.loadInventory().size(), 2);
+        }
+        System.out.println("SqlStore round-trips against " + url);
+    }
+
+    private static void check(String what, Object actual, Object expected) {
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException(what + ": expected " + expected + " but got " + actual);
+        }
+    }
+}
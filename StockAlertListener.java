@@ -0,0 +1,12 @@
+package Micow.ProjectC.Micow_Cashier;
+
+/**
+ * Told when a product's StockLevel changes: when it drops to or below its
+ * minimum, runs out, or recovers. Register with
+ * InventoryManager.addStockAlertListener. Events arrive in order on one
+ * background thread; Swing code should hand off with invokeLater.
+ */
+public interface StockAlertListener {
+    // previous is null when the product joined the catalog already low or out
+    void stockLevelChanged(CoffeeProduct product, StockLevel previous, StockLevel current);
+}
@@ -0,0 +1,25 @@
+package Micow.ProjectC.Micow_Cashier;
+
+/**
+ * Where a product's stock stands against its minimum, with the same rules
+ * as CoffeeProduct.getStockStatus().
+ */
+public enum StockLevel {
+    IN_STOCK("In Stock"),
+    LOW("Low Stock"),
+    OUT("Out of Stock");
+
+    private final String label;
+
+    StockLevel(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() { return label; }
+
+    static StockLevel of(CoffeeProduct.StockState state) {
+        if (state.stock <= 0) return OUT;
+        if (state.stock <= state.minStock) return LOW;
+        return IN_STOCK;
+    }
+}
@@ -0,0 +1,181 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stock held for a cart or a recipe, created by InventoryManager.reserve.
+ * Held units no longer count as available, so another till cannot sell
+ * them, but they stay in stock until commit() deducts them. A reservation
+ * with a timeout is released on its own if it is neither committed nor
+ * released in time.
+ */
+public class StockReservation {
+    private static final ScheduledExecutorService EXPIRY = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "reservation-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Fixed order for locking several products at once
+    private static final Comparator<CoffeeProduct> LOCK_ORDER =
+            Comparator.<CoffeeProduct>comparingInt(System::identityHashCode).thenComparingLong(CoffeeProduct::getId);
+
+    public enum State { HELD, COMMITTED, RELEASED }
+
+    private final InventoryManager inventoryManager;
+    // Keyed by identity; a product's name (and so its equals) can change while held
+    private final Map<CoffeeProduct, Double> lines = new IdentityHashMap<>();
+    private State state = State.HELD;
+    private ScheduledFuture<?> expiry;
+    // Bumped by keep() and finish(), so a timeout that already fired cannot release a kept reservation
+    private long expiryGeneration;
+
+    // Thrown when a bill of materials cannot be reserved in full
+    public static class InsufficientStockException extends Exception {
+        private static final long serialVersionUID = 1L;
+        private final List<String> shortages;
+
+        InsufficientStockException(List<String> shortages) {
+            super("Insufficient stock: " + String.join(", ", shortages));
+            this.shortages = Collections.unmodifiableList(new ArrayList<>(shortages));
+        }
+
+        public List<String> getShortages() { return shortages; }
+    }
+
+    StockReservation(InventoryManager inventoryManager) {
+        this.inventoryManager = inventoryManager;
+    }
+
+    // Called by InventoryManager once the lines are held
+    synchronized void add(CoffeeProduct product, double units) {
+        lines.merge(product, units, Double::sum);
+    }
+
+    synchronized void expireAfter(long timeoutMillis) {
+        if (timeoutMillis > 0) {
+            long generation = ++expiryGeneration;
+            expiry = EXPIRY.schedule(() -> expire(generation), timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Cancels the timeout; false if the reservation already ended. Either
+     * this or the timeout wins under the reservation's lock, so a kept
+     * reservation is never released by a timeout that was already running.
+     */
+    public synchronized boolean keep() {
+        if (state != State.HELD) return false;
+        cancelExpiry();
+        return true;
+    }
+
+    private synchronized void expire(long generation) {
+        if (generation == expiryGeneration) {
+            release();
+        }
+    }
+
+    public synchronized State getState() { return state; }
+
+    public synchronized boolean isHeld() { return state == State.HELD; }
+
+    // Units held per product name
+    public synchronized Map<String, Double> getLines() {
+        Map<String, Double> copy = new LinkedHashMap<>();
+        lines.forEach((product, units) -> copy.merge(product.getName(), units, Double::sum));
+        return copy;
+    }
+
+    /**
+     * Moves the lines of another held reservation into this one, e.g. when
+     * more of a product is added to the cart. The other reservation ends up
+     * released without giving its stock back.
+     */
+    public void absorb(StockReservation other) {
+        Map<CoffeeProduct, Double> moved;
+        synchronized (other) {
+            if (other.state != State.HELD) throw new IllegalStateException("Reservation is " + other.state);
+            moved = new IdentityHashMap<>(other.lines);
+            other.lines.clear();
+            other.finish(State.RELEASED);
+        }
+        synchronized (this) {
+            if (state == State.HELD) {
+                moved.forEach((product, units) -> lines.merge(product, units, Double::sum));
+                return;
+            }
+        }
+        // This one ended in the meantime; hand the moved stock back
+        moved.forEach((product, units) -> product.releaseReserved(units));
+    }
+
+    /**
+     * Deducts the held stock and saves the inventory. Fails if the
+     * reservation was already committed, released or expired. If stock was
+     * taken off below the held units in the meantime, e.g. by an edit,
+     * nothing is deducted, the reservation stays held and the shortfall is
+     * thrown; the products are locked together so the check and the
+     * deduction see the same stock.
+     */
+    public void commit() throws InsufficientStockException {
+        synchronized (this) {
+            if (state != State.HELD) throw new IllegalStateException("Reservation is " + state);
+            List<CoffeeProduct> products = new ArrayList<>(lines.keySet());
+            products.sort(LOCK_ORDER);
+            List<String> shortages = new ArrayList<>();
+            withLocks(products, 0, () -> {
+                lines.forEach((product, units) -> {
+                    if (product.getStock() < units) {
+                        shortages.add(String.format("%s (held %.2f, in stock %.2f)", product.getName(), units, product.getStock()));
+                    }
+                });
+                if (shortages.isEmpty()) {
+                    lines.forEach(CoffeeProduct::commitReserved);
+                }
+            });
+            if (!shortages.isEmpty()) throw new InsufficientStockException(shortages);
+            finish(State.COMMITTED);
+        }
+        inventoryManager.saveInventory();
+    }
+
+    private static void withLocks(List<CoffeeProduct> products, int index, Runnable action) {
+        if (index == products.size()) {
+            action.run();
+            return;
+        }
+        synchronized (products.get(index)) {
+            withLocks(products, index + 1, action);
+        }
+    }
+
+    // Gives the held stock back; does nothing if the reservation already ended
+    public synchronized void release() {
+        if (state != State.HELD) return;
+        lines.forEach(CoffeeProduct::releaseReserved);
+        finish(State.RELEASED);
+    }
+
+    private void finish(State end) {
+        state = end;
+        cancelExpiry();
+    }
+
+    private void cancelExpiry() {
+        expiryGeneration++;
+        if (expiry != null) {
+            expiry.cancel(false);
+            expiry = null;
+        }
+    }
+}
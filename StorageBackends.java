@@ -0,0 +1,60 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Picks the storage backend named in app_settings.json. "files" (the
+ * default) keeps the JSON/binary files and day-partitioned transaction
+ * journals; "mapped" keeps the inventory in files and transactions in a
+ * MappedTransactionLog; "sql" opens one shared SqlStore at the configured
+ * database URL. Both fall back to files if they cannot be opened. Files
+ * live in the data directory, the working directory unless -Dmicow.dataDir
+ * names another.
+ */
+final class StorageBackends {
+    private static SqlStore sqlStore;
+    private static boolean sqlFailed;
+
+    private StorageBackends() {
+    }
+
+    // Folder holding the data files and id leases; -Dmicow.dataDir overrides the working directory
+    static File dataDirectory() {
+        return new File(System.getProperty("micow.dataDir", "."));
+    }
+
+    static InventoryStore inventoryStore() {
+        SqlStore sql = sqlStore();
+        return sql != null ? sql : new DataPersistence();
+    }
+
+    static TransactionStore transactionStore() {
+        SqlStore sql = sqlStore();
+        if (sql != null) return sql;
+        if ("mapped".equalsIgnoreCase(new DataPersistence().loadSettings().getStorageBackend())) {
+            try {
+                return new MappedTransactionLog(new File(dataDirectory(), "transactions.mlog").getPath());
+            } catch (IOException e) {
+                System.err.println("Could not open transactions.mlog, using files: " + e.getMessage());
+            }
+        }
+        // One segment per business day; the old single file is migrated once
+        return new PartitionedTransactionStore(new File(dataDirectory(), "transactions").getPath(),
+                new File(dataDirectory(), "transactions.dat").getPath());
+    }
+
+    private static synchronized SqlStore sqlStore() {
+        if (sqlStore != null || sqlFailed) return sqlStore;
+        AppSettings settings = new DataPersistence().loadSettings();
+        if (!"sql".equalsIgnoreCase(settings.getStorageBackend())) return null;
+        try {
+            sqlStore = new SqlStore(settings.getDatabaseUrl());
+        } catch (SQLException e) {
+            sqlFailed = true;
+            System.err.println("Could not open database " + settings.getDatabaseUrl() + ", using files: " + e.getMessage());
+        }
+        return sqlStore;
+    }
+}
@@ -1,27 +1,46 @@
-package Micow.ProjectC.Micow_Cashier;
-
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-
-public class Transaction {
-    private long id;
-    private LocalDateTime timestamp;
-    private List<TransactionItem> items = new ArrayList<>();
-    private double total;
-    private String paymentMethod;
-    private String cashier;
-
-    public Transaction() {
-        this.timestamp = LocalDateTime.now();
-    }
-    // getters/setters
-
-    public void addItem(TransactionItem item){
-        items.add(item);
-        recalcTotal();
-    }
-    public void recalcTotal(){
-        total = items.stream().mapToDouble(TransactionItem::getSubtotal).sum();
-    }
-}
+package Micow.ProjectC.Micow_Cashier;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class Transaction implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long id;
+    private LocalDateTime timestamp;
+    private List<TransactionItem> items = new ArrayList<>();
+    private double total;
+    private String paymentMethod;
+    private String cashier;
+
+    public Transaction() {
+        this.timestamp = LocalDateTime.now();
+    }
+    // getters/setters
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+
+    public List<TransactionItem> getItems() { return items; }
+
+    public double getTotal() { return total; }
+    public void setTotal(double total) { this.total = total; }
+
+    public String getPaymentMethod() { return paymentMethod; }
+    public void setPaymentMethod(String paymentMethod) { this.paymentMethod = paymentMethod; }
+
+    public String getCashier() { return cashier; }
+    public void setCashier(String cashier) { this.cashier = cashier; }
+
+    public void addItem(TransactionItem item){
+        items.add(item);
+        recalcTotal();
+    }
+    public void recalcTotal(){
+        total = items.stream().mapToDouble(TransactionItem::getSubtotal).sum();
+    }
+}
@@ -0,0 +1,216 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.io.*;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary encoding for transactions, used by TransactionPersistence
+ * for both the snapshot and the journal.
+ *
+ * A file starts with a header (magic, format version) followed by records.
+ * Each record is a varint payload length, the payload and a CRC32 of it, so
+ * a torn record at the end of a journal is detected and dropped. A payload
+ * holds a batch of transactions:
+ *   count, then per transaction: id, epoch second, millisecond, total,
+ *   payment method, cashier, item count, and per item: id, product id,
+ *   product name, qty, unit price.
+ * Longs are zigzag varints and doubles are written as-is. Strings are
+ * interned within a payload: tag 0 is null, tag 1 introduces a new string
+ * (modified UTF-8 follows), and tag n >= 2 refers back to string n - 2.
+ */
+final class TransactionCodec {
+    static final int MAGIC = 0x43425458; // "CBTX"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 5;
+    // Far above a snapshot chunk or checkout batch; a larger length is a corrupt varint
+    static final int MAX_RECORD_SIZE = 64 * 1024 * 1024;
+
+    // First bytes of a Java serialization stream, as written by older versions
+    private static final int JAVA_SERIALIZATION_MAGIC = 0xACED;
+
+    private TransactionCodec() {
+    }
+
+    static void writeHeader(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+    }
+
+    static void readHeader(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a transaction file");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported transaction format version " + version);
+        }
+    }
+
+    // True if the file was written with default Java serialization
+    static boolean isLegacyFile(File file) {
+        if (!file.exists() || file.length() < 2) return false;
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return in.readUnsignedShort() == JAVA_SERIALIZATION_MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    static void writeRecord(DataOutput out, List<Transaction> batch) throws IOException {
+        byte[] payload = encode(batch);
+        if (payload.length > MAX_RECORD_SIZE) {
+            throw new IOException("Transaction batch too large: " + payload.length + " bytes");
+        }
+        writeVarLong(out, payload.length);
+        out.write(payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        out.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * Reads the next record, or returns null at a clean end of file. A torn
+     * or corrupt record throws StreamCorruptedException.
+     */
+    static List<Transaction> readRecord(DataInput in) throws IOException {
+        long length;
+        try {
+            length = readVarLong(in);
+        } catch (EOFException e) {
+            return null;
+        }
+        // Checked before allocating, so a damaged length cannot exhaust the heap
+        if (length < 0 || length > MAX_RECORD_SIZE) {
+            throw new StreamCorruptedException("Bad record length " + length);
+        }
+        byte[] payload = new byte[(int) length];
+        int checksum;
+        try {
+            in.readFully(payload);
+            checksum = in.readInt();
+        } catch (EOFException e) {
+            throw new StreamCorruptedException("Truncated record");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != checksum) {
+            throw new StreamCorruptedException("Record checksum mismatch");
+        }
+        return decode(payload);
+    }
+
+    static byte[] encode(List<Transaction> batch) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + batch.size() * 96);
+        DataOutputStream out = new DataOutputStream(bytes);
+        Map<String, Integer> strings = new HashMap<>();
+        writeVarLong(out, batch.size());
+        for (Transaction tx : batch) {
+            writeVarLong(out, tx.getId());
+            Instant instant = tx.getTimestamp().atZone(ZoneId.systemDefault()).toInstant();
+            writeVarLong(out, instant.getEpochSecond());
+            writeVarLong(out, instant.getNano() / 1_000_000);
+            out.writeDouble(tx.getTotal());
+            writeString(out, tx.getPaymentMethod(), strings);
+            writeString(out, tx.getCashier(), strings);
+            List<TransactionItem> items = tx.getItems();
+            writeVarLong(out, items.size());
+            for (TransactionItem item : items) {
+                writeVarLong(out, item.getId());
+                writeVarLong(out, item.getProductId());
+                writeString(out, item.getProductName(), strings);
+                out.writeDouble(item.getQty());
+                out.writeDouble(item.getUnitPrice());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<Transaction> decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        List<String> strings = new ArrayList<>();
+        int count = (int) readVarLong(in);
+        List<Transaction> batch = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Transaction tx = new Transaction();
+            tx.setId(readVarLong(in));
+            long epochSecond = readVarLong(in);
+            long millis = readVarLong(in);
+            tx.setTimestamp(LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, millis * 1_000_000),
+                    ZoneId.systemDefault()));
+            double total = in.readDouble();
+            tx.setPaymentMethod(readString(in, strings));
+            tx.setCashier(readString(in, strings));
+            int itemCount = (int) readVarLong(in);
+            for (int j = 0; j < itemCount; j++) {
+                long id = readVarLong(in);
+                long productId = readVarLong(in);
+                String name = readString(in, strings);
+                TransactionItem item = new TransactionItem(productId, name, in.readDouble(), in.readDouble());
+                item.setId(id);
+                tx.getItems().add(item);
+            }
+            tx.setTotal(total);
+            batch.add(tx);
+        }
+        return batch;
+    }
+
+    private static void writeString(DataOutput out, String s, Map<String, Integer> strings) throws IOException {
+        if (s == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        Integer ref = strings.get(s);
+        if (ref != null) {
+            writeVarLong(out, ref + 2);
+            return;
+        }
+        strings.put(s, strings.size());
+        writeVarLong(out, 1);
+        out.writeUTF(s);
+    }
+
+    private static String readString(DataInput in, List<String> strings) throws IOException {
+        long tag = readVarLong(in);
+        if (tag == 0) return null;
+        if (tag == 1) {
+            String s = in.readUTF();
+            strings.add(s);
+            return s;
+        }
+        int ref = (int) (tag - 2);
+        if (ref >= strings.size()) {
+            throw new StreamCorruptedException("Bad string reference " + ref);
+        }
+        return strings.get(ref);
+    }
+
+    // Zigzag varint: small magnitudes, including -1, take one byte
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        long v = (value << 1) ^ (value >> 63);
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (v >>> 1) ^ -(v & 1);
+            }
+        }
+        throw new StreamCorruptedException("Varint too long");
+    }
+}
@@ -0,0 +1,132 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Writes transaction history as CSV, one row per sold item. Transactions
+ * are streamed from the TransactionManager and written as they arrive, so
+ * exporting a year takes no more memory than exporting a day. Meant to run
+ * off the event thread; progress is reported as transactions are read.
+ */
+public class TransactionCsvExporter {
+    private static final String HEADER =
+        "transaction_id,timestamp,payment_method,cashier,item_id,product_id,product,qty,unit_price,line_total,transaction_total";
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int PROGRESS_EVERY = 200;
+
+    public interface ProgressListener {
+        // done may pass total when the stored counts are estimates
+        void progress(int done, int total);
+    }
+
+    private final TransactionManager txManager;
+    private LocalDate from = LocalDate.now();
+    private LocalDate to = LocalDate.now();
+    private String productFilter;
+    private volatile boolean cancelled;
+
+    public TransactionCsvExporter(TransactionManager txManager) {
+        this.txManager = txManager;
+    }
+
+    // Business days to export, inclusive
+    public void setDateRange(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    // Only items whose product name contains the text (ignoring case); null or blank exports all
+    public void setProductFilter(String productFilter) {
+        this.productFilter = productFilter == null || productFilter.trim().isEmpty()
+                ? null : productFilter.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Stops a running export; export() then throws CancellationException
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Writes the CSV to the target file and returns the number of item rows.
+     * The file is replaced only once the export has finished.
+     */
+    public int export(File target, ProgressListener listener) throws IOException {
+        cancelled = false;
+        int total = txManager.countTransactions(from, to);
+        File tmp = new File(target.getPath() + ".tmp");
+        int[] counts = new int[2]; // transactions read, rows written
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8))) {
+            writer.write(HEADER);
+            writer.write("\r\n");
+            txManager.forEachTransaction(from, to, tx -> {
+                if (cancelled) {
+                    throw new CancellationException("Export cancelled");
+                }
+                try {
+                    counts[1] += writeRows(writer, tx);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (++counts[0] % PROGRESS_EVERY == 0 && listener != null) {
+                    listener.progress(counts[0], Math.max(total, counts[0]));
+                }
+            });
+        } catch (UncheckedIOException e) {
+            tmp.delete();
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            tmp.delete();
+            throw e;
+        }
+        if (listener != null) {
+            listener.progress(counts[0], counts[0]);
+        }
+        if (!tmp.renameTo(target)) {
+            target.delete();
+            if (!tmp.renameTo(target)) {
+                throw new IOException("Could not write " + target);
+            }
+        }
+        return counts[1];
+    }
+
+    private int writeRows(Writer writer, Transaction tx) throws IOException {
+        int rows = 0;
+        String timestamp = tx.getTimestamp() != null ? tx.getTimestamp().format(TIMESTAMP_FORMAT) : "";
+        for (TransactionItem item : tx.getItems()) {
+            String name = item.getProductName();
+            if (productFilter != null && (name == null || !name.toLowerCase(Locale.ROOT).contains(productFilter))) {
+                continue;
+            }
+            StringBuilder row = new StringBuilder(128);
+            row.append(tx.getId()).append(',')
+               .append(timestamp).append(',')
+               .append(escape(tx.getPaymentMethod())).append(',')
+               .append(escape(tx.getCashier())).append(',')
+               .append(item.getId()).append(',')
+               .append(item.getProductId()).append(',')
+               .append(escape(name)).append(',')
+               .append(item.getQty()).append(',')
+               .append(item.getUnitPrice()).append(',')
+               .append(item.getQty() * item.getUnitPrice()).append(',')
+               .append(tx.getTotal()).append("\r\n");
+            writer.write(row.toString());
+            rows++;
+        }
+        return rows;
+    }
+
+    // Quotes fields containing separators, quotes or line breaks (RFC 4180)
+    private static String escape(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
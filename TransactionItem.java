@@ -1,18 +1,36 @@
-package Micow.ProjectC.Micow_Cashier;
-
-public class TransactionItem {
-    private long id;
-    private long productId;
-    private String productName;
-    private double qty;
-    private double unitPrice;
-
-    public TransactionItem(long productId, String productName, double qty, double unitPrice) {
-        this.productId = productId;
-        this.productName = productName;
-        this.qty = qty;
-        this.unitPrice = unitPrice;
-    }
-    public double getSubtotal(){ return qty * unitPrice; }
-    // getters/setters...
-}
+package Micow.ProjectC.Micow_Cashier;
+
+import java.io.Serializable;
+
+public class TransactionItem implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long id;
+    private long productId;
+    private String productName;
+    private double qty;
+    private double unitPrice;
+
+    public TransactionItem(long productId, String productName, double qty, double unitPrice) {
+        this.productId = productId;
+        this.productName = productName;
+        this.qty = qty;
+        this.unitPrice = unitPrice;
+    }
+    public double getSubtotal(){ return qty * unitPrice; }
+    // getters/setters...
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+
+    public long getProductId() { return productId; }
+    public void setProductId(long productId) { this.productId = productId; }
+
+    public String getProductName() { return productName; }
+    public void setProductName(String productName) { this.productName = productName; }
+
+    public double getQty() { return qty; }
+    public void setQty(double qty) { this.qty = qty; }
+
+    public double getUnitPrice() { return unitPrice; }
+    public void setUnitPrice(double unitPrice) { this.unitPrice = unitPrice; }
+}
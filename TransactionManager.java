@@ -1,29 +1,356 @@
-package Micow.ProjectC.Micow_Cashier;
-
-import java.util.ArrayList;
-import java.util.List;
-
-public class TransactionManager {
-    private List<Transaction> transactions;
-    private TransactionPersistence persistence;
-
-    // ✅ Default constructor (no argument)
-    public TransactionManager() {
-        this("transactions.dat"); // Use a default file name
-    }
-
-    // Existing constructor
-    public TransactionManager(String filePath) {
-        persistence = new TransactionPersistence(filePath);
-        transactions = persistence.loadTransactions();
-    }
-
-    public void addTransaction(Transaction tx) {
-        transactions.add(tx);
-        persistence.saveTransactions(transactions);
-    }
-
-    public List<Transaction> getTransactions() {
-        return transactions;
-    }
-}
+package Micow.ProjectC.Micow_Cashier;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class TransactionManager {
+    private List<Transaction> transactions;
+    private TransactionStore persistence;
+    private final IdAllocator transactionIds;
+    private final IdAllocator itemIds;
+
+    // Checkouts waiting for the shared write-behind executor
+    private final List<PendingCommit> writeBehind = new ArrayList<>();
+
+    // Group-commit state; null queue means checkouts go through PersistenceExecutor
+    private BlockingQueue<PendingCommit> commitQueue;
+    private Thread commitWriter;
+    private Thread retiringWriter;  // writer still finishing after disableGroupCommit
+    private Thread shutdownHook;
+    private long latencyBudgetNanos;
+    private volatile boolean running;
+    private int durableCount;
+
+    // Appends happen one at a time; commits whose append failed are retried ahead of newer ones
+    private static final long RETRY_MILLIS = 2000;
+    private final Object writeLock = new Object();
+    private final List<PendingCommit> failedCommits = new ArrayList<>();  // guarded by writeLock
+
+    // Checkout times (System.nanoTime) within the last hour, oldest first
+    private final ArrayDeque<Long> recentCheckouts = new ArrayDeque<>();
+    private static final long CHECKOUT_HISTORY_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    // ✅ Default constructor (no argument)
+    public TransactionManager() {
+        // Day-partitioned files, or the database when app_settings.json selects "sql"
+        this(StorageBackends.transactionStore());
+    }
+
+    // Existing constructor
+    public TransactionManager(String filePath) {
+        this(new TransactionPersistence(filePath));
+    }
+
+    // Use an alternative backend such as MappedTransactionLog
+    public TransactionManager(TransactionStore store) {
+        this(store, IdAllocator.inDataDirectory(store.getDataDirectory(), "transaction"),
+                IdAllocator.inDataDirectory(store.getDataDirectory(), "item"));
+    }
+
+    public TransactionManager(TransactionStore store, IdAllocator transactionIds, IdAllocator itemIds) {
+        persistence = store;
+        this.transactionIds = transactionIds;
+        this.itemIds = itemIds;
+        transactions = persistence.loadTransactions();
+        durableCount = transactions.size();
+        for (Transaction tx : transactions) {
+            transactionIds.advancePast(tx.getId());
+            for (TransactionItem item : tx.getItems()) {
+                itemIds.advancePast(item.getId());
+            }
+        }
+    }
+
+    /**
+     * Queues concurrent checkouts and lets one writer thread flush and sync
+     * them together. The writer waits at most latencyBudgetMillis after the
+     * first queued checkout before writing the batch.
+     */
+    public void enableGroupCommit(long latencyBudgetMillis) {
+        // Write-behind checkouts must land first so the durable records stay a prefix
+        PersistenceExecutor.shared().flush();
+        synchronized (this) {
+            if (commitQueue != null) return;
+            latencyBudgetNanos = TimeUnit.MILLISECONDS.toNanos(latencyBudgetMillis);
+            commitQueue = new LinkedBlockingQueue<>();
+            running = true;
+            commitWriter = new Thread(this::runCommitWriter, "transaction-group-commit");
+            commitWriter.setDaemon(true);
+            commitWriter.start();
+            if (shutdownHook == null) {
+                // Checkouts still queued at exit are written before the JVM stops
+                shutdownHook = new Thread(() -> {
+                    disableGroupCommit();
+                    PersistenceExecutor.shared().flush();
+                }, "group-commit-flush");
+                Runtime.getRuntime().addShutdownHook(shutdownHook);
+            }
+        }
+    }
+
+    /**
+     * Stops the writer thread after everything queued so far is durable.
+     * Checkouts from now on go through the write-behind executor, which
+     * waits for the old writer so the durable records stay in order.
+     */
+    public void disableGroupCommit() {
+        Thread writer;
+        BlockingQueue<PendingCommit> queue;
+        synchronized (this) {
+            if (commitQueue == null) return;
+            running = false;
+            writer = commitWriter;
+            queue = commitQueue;
+            commitQueue = null;
+            commitWriter = null;
+            retiringWriter = writer;
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Anything the writer left behind goes ahead of the newer write-behind checkouts
+        List<PendingCommit> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        synchronized (this) {
+            writeBehind.addAll(0, rest);
+            if (!writer.isAlive()) retiringWriter = null;
+        }
+        if (!rest.isEmpty()) {
+            PersistenceExecutor.shared().submit(this, this::writePendingCommits);
+        }
+    }
+
+    /**
+     * Records a transaction and returns at once. The write happens in the
+     * background; the returned future completes once it is durable on disk.
+     * The transaction and its items get ids here if they have none yet.
+     */
+    public CompletableFuture<Void> addTransaction(Transaction tx) {
+        if (tx.getId() <= 0) tx.setId(transactionIds.nextId());
+        for (TransactionItem item : tx.getItems()) {
+            if (item.getId() <= 0) item.setId(itemIds.nextId());
+        }
+        PendingCommit pending = new PendingCommit(tx);
+        synchronized (this) {
+            transactions.add(tx);
+            long now = System.nanoTime();
+            recentCheckouts.addLast(now);
+            while (now - recentCheckouts.peekFirst() > CHECKOUT_HISTORY_NANOS) {
+                recentCheckouts.removeFirst();
+            }
+            if (commitQueue != null) {
+                commitQueue.add(pending);
+                return pending.future;
+            }
+            writeBehind.add(pending);
+        }
+        // Checkouts queued while a write is waiting are appended in the same batch
+        PersistenceExecutor.shared().submit(this, this::writePendingCommits);
+        return pending.future;
+    }
+
+    // Checkouts recorded within the given window (up to one hour back)
+    public synchronized int getRecentCheckoutCount(long windowMillis) {
+        long cutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        int count = 0;
+        for (Iterator<Long> it = recentCheckouts.descendingIterator(); it.hasNext() && it.next() - cutoff >= 0; ) {
+            count++;
+        }
+        return count;
+    }
+
+    // Transactions held in memory (today's, for the default day-partitioned store)
+    public synchronized List<Transaction> getTransactions() {
+        return new ArrayList<>(transactions);
+    }
+
+    /**
+     * Transactions between two business days, inclusive. Days before the
+     * resident range are loaded from storage for this call only.
+     */
+    public List<Transaction> getTransactions(LocalDate from, LocalDate to) {
+        List<Transaction> result = new ArrayList<>();
+        LocalDate resident = persistence.firstResidentDay();
+        if (from.isBefore(resident)) {
+            LocalDate olderTo = to.isBefore(resident) ? to : resident.minusDays(1);
+            result.addAll(persistence.loadTransactions(from, olderTo));
+        }
+        if (!to.isBefore(resident)) {
+            synchronized (this) {
+                for (Transaction tx : transactions) {
+                    LocalDate day = tx.getTimestamp().toLocalDate();
+                    if (!day.isBefore(from) && !day.isAfter(to)) {
+                        result.add(tx);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Streams the transactions between two business days, inclusive, oldest
+     * day first. Older days are read from storage as they are passed on, so
+     * a long range is never loaded at once.
+     */
+    public void forEachTransaction(LocalDate from, LocalDate to, Consumer<Transaction> action) {
+        LocalDate resident = persistence.firstResidentDay();
+        if (from.isBefore(resident)) {
+            persistence.forEachTransaction(from, to.isBefore(resident) ? to : resident.minusDays(1), action);
+        }
+        if (!to.isBefore(resident)) {
+            List<Transaction> recent = new ArrayList<>();
+            synchronized (this) {
+                for (Transaction tx : transactions) {
+                    LocalDate day = tx.getTimestamp().toLocalDate();
+                    if (!day.isBefore(from) && !day.isAfter(to)) {
+                        recent.add(tx);
+                    }
+                }
+            }
+            recent.forEach(action);
+        }
+    }
+
+    // Transactions between two business days; stored days may be counted approximately
+    public int countTransactions(LocalDate from, LocalDate to) {
+        int count = 0;
+        LocalDate resident = persistence.firstResidentDay();
+        if (from.isBefore(resident)) {
+            count += persistence.countTransactions(from, to.isBefore(resident) ? to : resident.minusDays(1));
+        }
+        if (!to.isBefore(resident)) {
+            synchronized (this) {
+                for (Transaction tx : transactions) {
+                    LocalDate day = tx.getTimestamp().toLocalDate();
+                    if (!day.isBefore(from) && !day.isAfter(to)) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private void runCommitWriter() {
+        BlockingQueue<PendingCommit> commitQueue;
+        synchronized (this) {
+            commitQueue = this.commitQueue;
+        }
+        List<PendingCommit> batch = new ArrayList<>();
+        try {
+            while (running || !commitQueue.isEmpty()) {
+                PendingCommit first = commitQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                long deadline = System.nanoTime() + latencyBudgetNanos;
+                long remaining;
+                while ((remaining = deadline - System.nanoTime()) > 0) {
+                    PendingCommit next = commitQueue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                    commitQueue.drainTo(batch);
+                }
+                writeBatch(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // Stop taking checkouts; the ones already queued or taken are still written
+            synchronized (this) {
+                if (this.commitQueue == commitQueue) {
+                    running = false;
+                    this.commitQueue = null;
+                    commitWriter = null;
+                    retiringWriter = Thread.currentThread();
+                }
+            }
+            commitQueue.drainTo(batch);
+            writeBatch(batch);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Runs on the persistence writer thread
+    private void writePendingCommits() {
+        Thread retiring;
+        synchronized (this) {
+            retiring = retiringWriter;
+        }
+        if (retiring != null && retiring != Thread.currentThread()) {
+            try {
+                retiring.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        List<PendingCommit> batch;
+        synchronized (this) {
+            batch = new ArrayList<>(writeBehind);
+            writeBehind.clear();
+        }
+        writeBatch(batch);
+    }
+
+    /**
+     * Appends the batch after any earlier commits whose append failed. The
+     * stock for these sales is already gone, so a failed append keeps the
+     * transactions in memory and in order, and retries them shortly; their
+     * futures complete once they are durable.
+     */
+    private void writeBatch(List<PendingCommit> batch) {
+        synchronized (writeLock) {
+            List<PendingCommit> commits = new ArrayList<>(failedCommits);
+            commits.addAll(batch);
+            failedCommits.clear();
+            if (commits.isEmpty()) return;
+            List<Transaction> txs = new ArrayList<>(commits.size());
+            for (PendingCommit pending : commits) {
+                txs.add(pending.tx);
+            }
+            try {
+                persistence.appendTransactions(txs);
+            } catch (Exception e) {
+                System.err.println("Could not write " + txs.size() + " transactions, retrying: " + e.getMessage());
+                failedCommits.addAll(commits);
+                PersistenceExecutor.shared().submitDelayed(this, this::writePendingCommits, RETRY_MILLIS);
+                return;
+            }
+            synchronized (this) {
+                // Queue order matches list order, so the durable records are a prefix
+                durableCount += txs.size();
+                compactIfNeeded();
+            }
+            for (PendingCommit pending : commits) {
+                pending.future.complete(null);
+            }
+        }
+    }
+
+    // Only transactions already written may be folded into a snapshot
+    private void compactIfNeeded() {
+        if (persistence.needsCompaction()) {
+            persistence.compact(new ArrayList<>(transactions.subList(0, durableCount)));
+        }
+    }
+
+    private static class PendingCommit {
+        final Transaction tx;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        PendingCommit(Transaction tx) {
+            this.tx = tx;
+        }
+    }
+}
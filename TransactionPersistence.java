@@ -1,32 +1,266 @@
-package Micow.ProjectC.Micow_Cashier;
-
-import java.io.*;
-import java.util.ArrayList;
-import java.util.List;
-
-public class TransactionPersistence {
-    private final File file;
-
-    public TransactionPersistence(String path) {
-        this.file = new File(path);
-    }
-
-    @SuppressWarnings("unchecked")
-    public List<Transaction> loadTransactions() {
-        if (!file.exists()) return new ArrayList<>();
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-            return (List<Transaction>) ois.readObject();
-        } catch (Exception e) {
-            e.printStackTrace();
-            return new ArrayList<>();
-        }
-    }
-
-    public void saveTransactions(List<Transaction> transactions) {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(file))) {
-            oos.writeObject(transactions);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-    }
-}
+package Micow.ProjectC.Micow_Cashier;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Stores transactions as a snapshot file plus an append-only journal, both
+ * in the TransactionCodec format. Each checkout batch appends one record to
+ * the journal; loading reads the snapshot and replays the journal on top
+ * of it. Files written with Java serialization by older versions are read
+ * once and rewritten in the new format. A snapshot that does not read
+ * cleanly to its end is never rewritten, so compaction cannot replace it
+ * with the part that was read.
+ */
+public class TransactionPersistence implements TransactionStore {
+    // Journal records folded into the snapshot once this many have accumulated
+    private static final int COMPACT_THRESHOLD = 500;
+    // Snapshot records hold at most this many transactions, so readers can stream them
+    private static final int SNAPSHOT_CHUNK = 1000;
+
+    private final File file;
+    private final File journalFile;
+    private int journalRecords;
+    private boolean formatChecked;
+    // Set when the snapshot did not read cleanly to its end; it is then never replaced
+    private boolean snapshotDamaged;
+
+    public TransactionPersistence(String path) {
+        this.file = new File(path);
+        this.journalFile = new File(path + ".journal");
+    }
+
+    @Override
+    public File getDataDirectory() {
+        return file.getAbsoluteFile().getParentFile();
+    }
+
+    @Override
+    public List<Transaction> loadTransactions() {
+        boolean legacy = TransactionCodec.isLegacyFile(file) || TransactionCodec.isLegacyFile(journalFile);
+        List<Transaction> transactions = new ArrayList<>();
+        if (file.exists()) {
+            if (TransactionCodec.isLegacyFile(file)) {
+                transactions.addAll(readLegacySnapshot());
+            } else {
+                transactions.addAll(readSnapshot());
+            }
+        }
+        journalRecords = TransactionCodec.isLegacyFile(journalFile)
+                ? replayLegacyJournal(transactions)
+                : replayJournal(transactions);
+        formatChecked = true;
+        if (legacy) {
+            // Migrate to the compact format; the old files are replaced
+            saveTransactions(transactions);
+            System.out.println("Converted " + transactions.size() + " transactions in " + file + " to the compact format");
+        }
+        return transactions;
+    }
+
+    // Rewrites the full snapshot and clears the journal
+    @Override
+    public void saveTransactions(List<Transaction> transactions) {
+        if (snapshotDamaged) {
+            // Only part of it was loaded; writing that back would lose the rest for good
+            System.err.println("Not replacing damaged transaction snapshot " + file + "; new sales stay in the journal");
+            return;
+        }
+        File tmp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream fos = new FileOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+            TransactionCodec.writeHeader(out);
+            List<Transaction> all = new ArrayList<>(transactions);
+            for (int i = 0; i < all.size(); i += SNAPSHOT_CHUNK) {
+                TransactionCodec.writeRecord(out, all.subList(i, Math.min(all.size(), i + SNAPSHOT_CHUNK)));
+            }
+            out.flush();
+            fos.getFD().sync();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            file.delete();
+            if (!tmp.renameTo(file)) {
+                System.err.println("Error replacing transaction snapshot " + file);
+                return;
+            }
+        }
+        journalFile.delete();
+        journalRecords = 0;
+        formatChecked = true;
+    }
+
+    // Writes only the new transaction to the end of the journal
+    @Override
+    public void appendTransaction(Transaction tx) {
+        try {
+            appendTransactions(Collections.singletonList(tx));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // One length-prefixed journal record per batch
+    @Override
+    public void appendTransactions(List<Transaction> batch) throws IOException {
+        if (!formatChecked && TransactionCodec.isLegacyFile(journalFile)) {
+            loadTransactions();
+        }
+        formatChecked = true;
+        long before = journalFile.exists() ? journalFile.length() : 0;
+        try (FileOutputStream fos = new FileOutputStream(journalFile, true);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+            if (before == 0) {
+                TransactionCodec.writeHeader(out);
+            }
+            TransactionCodec.writeRecord(out, batch);
+            out.flush();
+            fos.getFD().sync();
+            journalRecords += batch.size();
+        } catch (IOException e) {
+            // Drop whatever part of the record made it, so a retry is not appended after a torn one
+            try (RandomAccessFile raf = new RandomAccessFile(journalFile, "rw")) {
+                raf.setLength(before);
+            } catch (IOException ignored) {
+                // Loading cuts a torn tail as well
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Streams the stored transactions one record at a time without keeping
+     * them. Legacy files are loaded (and migrated) as a whole first. A torn
+     * record at the end of the journal ends the stream without repairing it.
+     */
+    public void forEachStored(Consumer<Transaction> action) {
+        if (TransactionCodec.isLegacyFile(file) || TransactionCodec.isLegacyFile(journalFile)) {
+            loadTransactions().forEach(action);
+            return;
+        }
+        for (File source : new File[] {file, journalFile}) {
+            if (!source.exists() || source.length() == 0) continue;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(source)))) {
+                TransactionCodec.readHeader(in);
+                List<Transaction> batch;
+                while ((batch = TransactionCodec.readRecord(in)) != null) {
+                    batch.forEach(action);
+                }
+            } catch (StreamCorruptedException e) {
+                System.err.println("Stopped reading " + source + " at a damaged record: " + e.getMessage());
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    @Override
+    public void forEachTransaction(LocalDate from, LocalDate to, Consumer<Transaction> action) {
+        forEachStored(tx -> {
+            LocalDate day = tx.getTimestamp().toLocalDate();
+            if (!day.isBefore(from) && !day.isAfter(to)) {
+                action.accept(tx);
+            }
+        });
+    }
+
+    @Override
+    public boolean needsCompaction() {
+        return !snapshotDamaged && journalRecords >= COMPACT_THRESHOLD;
+    }
+
+    // Folds the journal into the snapshot
+    @Override
+    public void compact(List<Transaction> transactions) {
+        saveTransactions(transactions);
+    }
+
+    private List<Transaction> readSnapshot() {
+        List<Transaction> transactions = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            TransactionCodec.readHeader(in);
+            List<Transaction> batch;
+            while ((batch = TransactionCodec.readRecord(in)) != null) {
+                transactions.addAll(batch);
+            }
+        } catch (Exception e) {
+            snapshotDamaged = true;
+            System.err.println("Transaction snapshot " + file + " is damaged after " + transactions.size()
+                    + " transactions and will not be compacted over: " + e);
+        }
+        return transactions;
+    }
+
+    private int replayJournal(List<Transaction> transactions) {
+        if (!journalFile.exists() || journalFile.length() == 0) return 0;
+        int replayed = 0;
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(journalFile.toPath());
+        } catch (IOException e) {
+            e.printStackTrace();
+            return 0;
+        }
+        ByteArrayInputStream buffer = new ByteArrayInputStream(bytes);
+        DataInputStream in = new DataInputStream(buffer);
+        long intact = 0;
+        try {
+            TransactionCodec.readHeader(in);
+            intact = bytes.length - buffer.available();
+            List<Transaction> batch;
+            while ((batch = TransactionCodec.readRecord(in)) != null) {
+                transactions.addAll(batch);
+                replayed += batch.size();
+                intact = bytes.length - buffer.available();
+            }
+        } catch (IOException e) {
+            System.err.println("Transaction journal truncated after " + replayed + " records: " + e.getMessage());
+        }
+        if (intact < bytes.length) {
+            // Cut off the torn tail so later appends stay readable
+            try (RandomAccessFile raf = new RandomAccessFile(journalFile, "rw")) {
+                raf.setLength(intact);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        return replayed;
+    }
+
+    // Files from versions that used default Java serialization
+    @SuppressWarnings("unchecked")
+    private List<Transaction> readLegacySnapshot() {
+        try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return (List<Transaction>) ois.readObject();
+        } catch (Exception e) {
+            snapshotDamaged = true;
+            System.err.println("Transaction snapshot " + file + " could not be read and will not be replaced: " + e);
+            return new ArrayList<>();
+        }
+    }
+
+    private int replayLegacyJournal(List<Transaction> transactions) {
+        int replayed = 0;
+        try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(journalFile)))) {
+            while (true) {
+                transactions.add((Transaction) ois.readObject());
+                replayed++;
+            }
+        } catch (EOFException e) {
+            // End of journal
+        } catch (StreamCorruptedException e) {
+            // A torn write at the tail; everything before it is intact
+            System.err.println("Transaction journal truncated after " + replayed + " records");
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return replayed;
+    }
+}
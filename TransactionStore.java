@@ -0,0 +1,64 @@
+package Micow.ProjectC.Micow_Cashier;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Storage backend used by TransactionManager.
+ */
+public interface TransactionStore {
+    // Transactions kept in memory by TransactionManager
+    List<Transaction> loadTransactions();
+
+    // First business day covered by loadTransactions(); older days are read on demand
+    default LocalDate firstResidentDay() { return LocalDate.MIN; }
+
+    // Transactions between two business days, inclusive
+    default List<Transaction> loadTransactions(LocalDate from, LocalDate to) {
+        return loadTransactions().stream()
+                .filter(tx -> {
+                    LocalDate day = tx.getTimestamp().toLocalDate();
+                    return !day.isBefore(from) && !day.isAfter(to);
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Passes the transactions between two business days, inclusive, to the
+     * action in stored order. Backends that can read incrementally override
+     * this so long ranges are never held in memory at once.
+     */
+    default void forEachTransaction(LocalDate from, LocalDate to, Consumer<Transaction> action) {
+        loadTransactions(from, to).forEach(action);
+    }
+
+    // Number of transactions between two business days; may be an estimate, used for progress
+    default int countTransactions(LocalDate from, LocalDate to) {
+        return loadTransactions(from, to).size();
+    }
+
+    // Folder for files kept next to the data, such as id leases
+    default File getDataDirectory() { return StorageBackends.dataDirectory(); }
+
+    void appendTransaction(Transaction tx);
+
+    // Writes a group of transactions and makes them durable with one sync
+    default void appendTransactions(List<Transaction> batch) throws IOException {
+        for (Transaction tx : batch) {
+            appendTransaction(tx);
+        }
+    }
+
+    // Replaces everything stored with the given list
+    void saveTransactions(List<Transaction> transactions);
+
+    default boolean needsCompaction() { return false; }
+
+    default void compact(List<Transaction> transactions) {
+        saveTransactions(transactions);
+    }
+}